@@ -0,0 +1,47 @@
+package com.darum.gateway.config;
+
+import com.darum.shared.event.UserRevokedEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class RevocationKafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    // Stable across restarts of the same instance, so restarts reuse one consumer group instead of leaving one behind each time
+    @Value("${gateway.revocations.instance-id:${HOSTNAME:local}}")
+    private String instanceId;
+
+    @Bean
+    public ConsumerFactory<String, UserRevokedEvent> revocationConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // Every gateway instance holds its own cache, so each one needs every revocation: one group per instance
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "api-gateway-revocations-" + instanceId);
+        // Committed offsets are not used: UserRevocationListener seeks back one token lifetime on every assignment
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(UserRevokedEvent.class, false)));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserRevokedEvent> revocationListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, UserRevokedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(revocationConsumerFactory());
+        return factory;
+    }
+}
@@ -1,9 +1,8 @@
 package com.darum.gateway.security;
 
 import org.springframework.http.HttpMethod;
-import com.darum.shared.security.JwtUtil;
+import com.darum.shared.security.IdentityEnvelope;
 import com.darum.shared.security.SecurityConstants;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -14,16 +13,14 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @Component
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public AuthenticationFilter() {
+    public AuthenticationFilter(VerifiedTokenCache verifiedTokenCache) {
         super(Config.class);
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     public static class Config {
@@ -53,21 +50,15 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
         String token = authHeader.substring(7);
 
-        // Validate JWT token using shared library
-        if (!JwtUtil.validateToken(token, jwtSecret)) {
-            return unauthorizedResponse(exchange);
-        }
-
-        // Add user info to headers for downstream services
+        // Validate JWT token (cached per token until exp), then add user info to headers for downstream services
         try {
-            String userId = JwtUtil.extractUserId(token, jwtSecret);
-            String username = JwtUtil.extractUsername(token, jwtSecret);
-            List<String> roles = JwtUtil.extractRoles(token, jwtSecret);
+            GatewayIdentity identity = verifiedTokenCache.verify(token);
 
             ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", userId)
-                    .header("X-User-Email", username)
-                    .header("X-User-Roles", String.join(",", roles))
+                    .header("X-User-Id", identity.getUserIdHeader())
+                    .header("X-User-Email", identity.getEmail())
+                    .header("X-User-Roles", identity.getRolesHeader())
+                    .header(IdentityEnvelope.HEADER, identity.getEnvelope())
                     .header(SecurityConstants.TOKEN_HEADER, authHeader)
                     .build();
 
@@ -91,10 +82,9 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                 path.contains("/employees/v3/api-docs");
 
         // Only check paths that come into the GATEWAY
-        boolean isAuthEndpoint = path.startsWith("/api/auth/");
+        // /api/auth/users/** (batch lookup, role changes) needs a verified caller like any other route
+        boolean isAuthEndpoint = path.startsWith("/api/auth/") && !path.startsWith("/api/auth/users/");
 
-        boolean isPublic = isSwaggerDoc || isAuthEndpoint;
-        System.out.println("=== Path: " + path + " | Is Public: " + isPublic);
-        return isPublic;
+        return isSwaggerDoc || isAuthEndpoint;
     }
 }
\ No newline at end of file
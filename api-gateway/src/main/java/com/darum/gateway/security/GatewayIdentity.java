@@ -0,0 +1,47 @@
+package com.darum.gateway.security;
+
+import com.darum.shared.security.IdentityEnvelope;
+import com.darum.shared.security.JwtClaims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The identity header set forwarded downstream for one verified token, plus the claims
+ * needed to expire or revoke it. The signed {@link IdentityEnvelope} is sealed once here and
+ * reused for every request carrying the same token.
+ */
+@Getter
+@AllArgsConstructor
+public class GatewayIdentity {
+    private final String userIdHeader;
+    private final String email;
+    private final String rolesHeader;
+    private final Long userId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final String envelope;
+
+    // Envelope lifetime for the rare token without exp; such tokens are not cached either
+    private static final Duration NO_EXP_ENVELOPE_TTL = Duration.ofMinutes(5);
+
+    public static GatewayIdentity from(JwtClaims claims, String envelopeSecret) {
+        String userIdHeader = claims.getUserId() != null ? claims.getUserId().toString() : claims.getSubject();
+        Instant envelopeExpiry = claims.getExpiresAt() != null
+                ? claims.getExpiresAt()
+                : Instant.now().plus(NO_EXP_ENVELOPE_TTL);
+        String envelope = new IdentityEnvelope(claims.getUserId(), claims.getSubject(), claims.getRoles(), envelopeExpiry)
+                .seal(envelopeSecret);
+
+        return new GatewayIdentity(
+                userIdHeader,
+                claims.getSubject(),
+                String.join(",", claims.getRoles()),
+                claims.getUserId(),
+                claims.getIssuedAt(),
+                claims.getExpiresAt(),
+                envelope);
+    }
+}
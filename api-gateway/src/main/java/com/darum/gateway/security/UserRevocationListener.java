@@ -0,0 +1,44 @@
+package com.darum.gateway.security;
+
+import com.darum.shared.event.UserRevokedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Feeds role-change revocations into {@link VerifiedTokenCache}. The cache is in memory, so on every
+ * partition assignment (startup included) the consumer rewinds to the revocations published within
+ * the last {@code gateway.token-cache.revocation-retention}: older ones cannot affect a live token.
+ */
+@Slf4j
+@Component
+public class UserRevocationListener implements ConsumerSeekAware {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Duration revocationRetention;
+
+    public UserRevocationListener(VerifiedTokenCache verifiedTokenCache,
+                                  @Value("${gateway.token-cache.revocation-retention:24h}") Duration revocationRetention) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationRetention = revocationRetention;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        long replayFrom = Instant.now().minus(revocationRetention).toEpochMilli();
+        callback.seekToTimestamp(assignments.keySet(), replayFrom);
+        log.info("Replaying revocations since {} on {} partitions", Instant.ofEpochMilli(replayFrom), assignments.size());
+    }
+
+    @KafkaListener(topics = UserRevokedEvent.TOPIC, containerFactory = "revocationListenerContainerFactory")
+    public void onUserRevoked(UserRevokedEvent event) {
+        log.info("🔒 Revoking cached tokens for user {} ({})", event.getUserId(), event.getReason());
+        verifiedTokenCache.revoke(event.getUserId(), event.getRevokedAt());
+    }
+}
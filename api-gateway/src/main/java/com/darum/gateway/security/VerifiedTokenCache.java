@@ -0,0 +1,116 @@
+package com.darum.gateway.security;
+
+import com.darum.shared.security.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified-token cache for {@link AuthenticationFilter}.
+ * Maps a token digest to its {@link GatewayIdentity} until the token's exp, so a repeated token
+ * costs a hash lookup instead of an HMAC verification. Revocations (see {@link UserRevocationListener})
+ * evict a user's entries and reject any of their tokens issued before the revocation.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+    private final String jwtSecret;
+    private final String envelopeSecret;
+    private final Duration revocationRetention;
+    private final Cache<String, GatewayIdentity> identities;
+    // userId -> time of the latest role change; kept as long as a token issued before it could still be live
+    private final Cache<Long, Instant> revocations;
+
+    public VerifiedTokenCache(@Value("${jwt.secret}") String jwtSecret,
+                              @Value("${identity.envelope.secret:${jwt.secret}}") String envelopeSecret,
+                              @Value("${gateway.token-cache.max-size:10000}") long maxSize,
+                              @Value("${gateway.token-cache.revocation-retention:24h}") Duration revocationRetention) {
+        this.jwtSecret = jwtSecret;
+        this.envelopeSecret = envelopeSecret;
+        this.revocationRetention = revocationRetention;
+        this.identities = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
+        this.revocations = Caffeine.newBuilder()
+                .expireAfterWrite(revocationRetention)
+                .build();
+    }
+
+    /**
+     * @throws JwtException if the token is invalid, expired or was issued before the user's roles last changed
+     */
+    public GatewayIdentity verify(String token) {
+        String digest = JwtUtil.digest(token);
+        GatewayIdentity identity = identities.getIfPresent(digest);
+
+        if (identity == null) {
+            identity = GatewayIdentity.from(JwtUtil.parse(token, jwtSecret), envelopeSecret);
+            if (identity.getExpiresAt() != null) {
+                identities.put(digest, identity);
+            }
+        }
+
+        if (isRevoked(identity)) {
+            identities.invalidate(digest);
+            throw new JwtException("Token was issued before the user's roles changed");
+        }
+        return identity;
+    }
+
+    public void revoke(Long userId, Instant revokedAt) {
+        if (userId == null) {
+            return;
+        }
+        Instant at = revokedAt != null ? revokedAt : Instant.now();
+        if (at.isBefore(Instant.now().minus(revocationRetention))) {
+            // Replayed event older than any token that could still be live
+            return;
+        }
+
+        revocations.asMap().merge(userId, at, (current, incoming) -> current.isAfter(incoming) ? current : incoming);
+        identities.asMap().values().removeIf(identity -> userId.equals(identity.getUserId()));
+        log.debug("Evicted cached tokens for user {} revoked at {}", userId, at);
+    }
+
+    private boolean isRevoked(GatewayIdentity identity) {
+        if (identity.getUserId() == null) {
+            return false;
+        }
+        Instant revokedAt = revocations.getIfPresent(identity.getUserId());
+        if (revokedAt == null) {
+            return false;
+        }
+        // iat has second precision, so a token issued in the same second as the change is accepted
+        return identity.getIssuedAt() == null
+                || identity.getIssuedAt().isBefore(revokedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // Evicts each cached entry at the token's own exp claim
+    private static class ExpireAtTokenExpiry implements Expiry<String, GatewayIdentity> {
+        @Override
+        public long expireAfterCreate(String key, GatewayIdentity identity, long currentTime) {
+            long remainingMillis = identity.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, GatewayIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, GatewayIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
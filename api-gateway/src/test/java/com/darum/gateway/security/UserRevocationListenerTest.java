@@ -0,0 +1,51 @@
+package com.darum.gateway.security;
+
+import com.darum.shared.event.UserRevokedEvent;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class UserRevocationListenerTest {
+    private final VerifiedTokenCache verifiedTokenCache = mock(VerifiedTokenCache.class);
+    private final UserRevocationListener listener = new UserRevocationListener(verifiedTokenCache, Duration.ofHours(24));
+
+    @Test
+    public void revocationIsPassedToTheCache() {
+        Instant revokedAt = Instant.now();
+
+        listener.onUserRevoked(new UserRevokedEvent(42L, "jane.doe@darum.com", "ROLE_ADDED", revokedAt));
+
+        verify(verifiedTokenCache).revoke(42L, revokedAt);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assignmentReplaysOneTokenLifetime() {
+        ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+        Map<TopicPartition, Long> assignments = Map.of(
+                new TopicPartition(UserRevokedEvent.TOPIC, 0), 120L,
+                new TopicPartition(UserRevokedEvent.TOPIC, 1), 7L);
+        long before = Instant.now().minus(Duration.ofHours(24)).toEpochMilli();
+
+        listener.onPartitionsAssigned(assignments, callback);
+
+        ArgumentCaptor<Collection<TopicPartition>> partitions = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Long> timestamp = ArgumentCaptor.forClass(Long.class);
+        verify(callback).seekToTimestamp(partitions.capture(), timestamp.capture());
+        assertEquals(assignments.keySet(), Set.copyOf(partitions.getValue()));
+        long after = Instant.now().minus(Duration.ofHours(24)).toEpochMilli();
+        assertTrue(timestamp.getValue() >= before && timestamp.getValue() <= after, String.valueOf(timestamp.getValue()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.darum.gateway.security;
+
+import com.darum.shared.security.IdentityEnvelope;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VerifiedTokenCacheTest {
+    private static final String JWT_SECRET = "gateway-test-secret-key-that-is-at-least-256-bits-long";
+    private static final String ENVELOPE_SECRET = "gateway-test-envelope-secret";
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(JWT_SECRET, ENVELOPE_SECRET, 100, Duration.ofHours(24));
+
+    @Test
+    public void repeatedTokenIsServedFromTheCache() {
+        String token = token(42L, now.minusSeconds(10));
+
+        GatewayIdentity first = cache.verify(token);
+
+        assertSame(first, cache.verify(token));
+        assertEquals("42", first.getUserIdHeader());
+        assertEquals("jane.doe@darum.com", first.getEmail());
+        assertEquals("EMPLOYEE,MANAGER", first.getRolesHeader());
+    }
+
+    @Test
+    public void envelopeOpensWithTheEnvelopeSecret() {
+        IdentityEnvelope envelope = IdentityEnvelope.open(cache.verify(token(42L, now)).getEnvelope(), ENVELOPE_SECRET);
+
+        assertNotNull(envelope);
+        assertEquals(42L, envelope.getUserId());
+        assertEquals(List.of("EMPLOYEE", "MANAGER"), envelope.getRoles());
+    }
+
+    @Test
+    public void invalidTokenIsRejected() {
+        String forged = Jwts.builder()
+                .subject("jane.doe@darum.com")
+                .claim("userId", 42L)
+                .expiration(Date.from(now.plus(1, ChronoUnit.HOURS)))
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-at-least-256-bits-long".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(JwtException.class, () -> cache.verify(forged));
+    }
+
+    @Test
+    public void revocationRejectsCachedAndNewTokensIssuedBeforeIt() {
+        String cached = token(42L, now.minusSeconds(60));
+        cache.verify(cached);
+        String uncached = token(42L, now.minusSeconds(30));
+
+        cache.revoke(42L, now);
+
+        assertThrows(JwtException.class, () -> cache.verify(cached));
+        assertThrows(JwtException.class, () -> cache.verify(uncached));
+        // Re-login after the role change, same second included
+        assertEquals("42", cache.verify(token(42L, now)).getUserIdHeader());
+        // Other users are unaffected
+        assertEquals("7", cache.verify(token(7L, now.minusSeconds(60))).getUserIdHeader());
+    }
+
+    @Test
+    public void laterRevocationWinsWhenEventsArriveOutOfOrder() {
+        cache.revoke(42L, now);
+        cache.revoke(42L, now.minusSeconds(120));
+
+        assertThrows(JwtException.class, () -> cache.verify(token(42L, now.minusSeconds(60))));
+    }
+
+    @Test
+    public void replayedRevocationOlderThanRetentionIsIgnored() {
+        cache.revoke(42L, now.minus(25, ChronoUnit.HOURS));
+
+        assertEquals("42", cache.verify(token(42L, now.minus(2, ChronoUnit.HOURS))).getUserIdHeader());
+    }
+
+    private String token(Long userId, Instant issuedAt) {
+        return Jwts.builder()
+                .subject("jane.doe@darum.com")
+                .claim("roles", List.of("EMPLOYEE", "MANAGER"))
+                .claim("userId", userId)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(now.plus(1, ChronoUnit.HOURS)))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,46 @@
+package com.darum.auth.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated pool for BCrypt work (login and register), so a login storm queues here instead of taking
+ * every Tomcat thread away from {@code /auth/me} and {@code /auth/user/email}.
+ * When all threads are busy and the queue is full, submissions are rejected and the caller answers 503.
+ */
+@Configuration
+public class HashingExecutorConfig {
+
+    // BCrypt is CPU-bound: more threads than cores only adds queueing inside the scheduler
+    @Value("${auth.hashing.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int poolSize;
+
+    @Value("${auth.hashing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.* metrics (active, queued, completed, rejected...) tagged name=password.hashing
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+}
@@ -5,10 +5,15 @@ package com.darum.auth.config;
 
 
 //import com.darum.auth.security.JwtAuthenticationFilter;
+import com.darum.auth.security.BCryptStrengthCalibrator;
 import com.darum.auth.security.GatewayHeaderAuthenticationFilter;
+import com.darum.auth.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,10 +26,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
+    // Calibration stops here even on very fast hardware: strength 16 is already ~4s on a typical core
+    private static final int MAX_BCRYPT_STRENGTH = 16;
     //private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final GatewayHeaderAuthenticationFilter gatewayHeaderAuthenticationFilter;
 
@@ -33,6 +43,8 @@ public class SecurityConfig {
        http.csrf(csrf -> csrf.disable())
                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                .authorizeHttpRequests(authz -> authz
+                       // User lookups and role changes expose or modify other users: never anonymous
+                       .requestMatchers("/auth/users/**").authenticated()
                        .requestMatchers("/auth/**").permitAll()
                        .requestMatchers(
                                "/v3/api-docs/**",
@@ -48,9 +60,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt at {@code auth.bcrypt.strength}, or, with {@code auth.bcrypt.calibrate=true}, at the strength that
+     * hashes within {@code auth.bcrypt.target-hash-time} on this host (never below {@code auth.bcrypt.min-strength}).
+     * Hashes stored at a lower strength are re-encoded on the user's next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.bcrypt.strength:10}") int strength,
+                                           @Value("${auth.bcrypt.calibrate:false}") boolean calibrate,
+                                           @Value("${auth.bcrypt.target-hash-time:250ms}") Duration targetHashTime,
+                                           @Value("${auth.bcrypt.min-strength:10}") int minStrength) {
+        int effectiveStrength = calibrate
+                ? BCryptStrengthCalibrator.calibrate(targetHashTime, minStrength, MAX_BCRYPT_STRENGTH)
+                : strength;
+        log.info("🔐 Using BCrypt strength {}{}", effectiveStrength, calibrate ? " (calibrated)" : "");
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(effectiveStrength), meterRegistry, effectiveStrength);
     }
 
 
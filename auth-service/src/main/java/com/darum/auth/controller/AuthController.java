@@ -3,25 +3,30 @@ package com.darum.auth.controller;
 import com.darum.auth.documentations.AuthApiDocs;
 import com.darum.shared.dto.Roles;
 import com.darum.shared.dto.request.AddRoleRequest;
+import com.darum.shared.dto.request.BatchUserLookupRequest;
 import com.darum.shared.dto.response.UserResponse;
+import com.darum.auth.mapper.UserMapper;
 import com.darum.auth.model.CustomUserDetails;
 import com.darum.auth.model.User;
 import com.darum.auth.repositories.UserRepository;
 import com.darum.auth.service.AuthService;
+import com.darum.auth.service.UserBatchLookupService;
 import com.darum.auth.dto.request.AuthRequest;
 import com.darum.auth.dto.request.RegisterRequest;
 import com.darum.shared.dto.response.ApiResponse;
 import com.darum.auth.dto.response.AuthResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/auth")
@@ -30,20 +35,22 @@ public class AuthController {
 
     private final AuthService authService;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final UserBatchLookupService userBatchLookupService;
 
     @AuthApiDocs.RegisterDoc
    @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
-       AuthResponse response = authService.register(registerRequest);
-       return new ResponseEntity<>(new ApiResponse(true, response), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest registerRequest) {
+       // Hashing runs on the dedicated pool; the Tomcat thread is released meanwhile
+       return authService.registerAsync(registerRequest)
+               .<ResponseEntity<?>>thenApply(response -> new ResponseEntity<>(new ApiResponse(true, response), HttpStatus.CREATED));
    }
 
    @AuthApiDocs.LoginDoc
    @PostMapping("/login")
-    public ResponseEntity<?> login (@Valid @RequestBody AuthRequest authRequest) {
-       AuthResponse response = authService.login(authRequest);
-       return new ResponseEntity<>(new ApiResponse(true, response), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<?>> login (@Valid @RequestBody AuthRequest authRequest) {
+       return authService.loginAsync(authRequest)
+               .<ResponseEntity<?>>thenApply(response -> new ResponseEntity<>(new ApiResponse(true, response), HttpStatus.OK));
    }
 
     @AuthApiDocs.GetProfileDoc
@@ -51,7 +58,7 @@ public class AuthController {
     public ResponseEntity<UserResponse> getById(@AuthenticationPrincipal CustomUserDetails userDetail) {
         Optional<User> userFound = userRepository.findByEmail(userDetail.getUsername());
         return userFound
-                .map(user -> ResponseEntity.ok(modelMapper.map(user, UserResponse.class)))
+                .map(user -> ResponseEntity.ok(userMapper.toResponse(user)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -60,12 +67,18 @@ public class AuthController {
     public ResponseEntity<UserResponse> getByEmail(@RequestParam String email) {
        Optional<User> userFound = userRepository.findByEmail(email);
        return userFound
-               .map(user -> ResponseEntity.ok(modelMapper.map(user, UserResponse.class)))
+               .map(user -> ResponseEntity.ok(userMapper.toResponse(user)))
                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
 
 
+    @AuthApiDocs.BatchLookupDoc
+    @PostMapping(value = "/users/batch-lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<UserResponse>> batchLookup(@RequestBody BatchUserLookupRequest request) {
+        return ResponseEntity.ok(userBatchLookupService.lookup(request));
+    }
+
     @AuthApiDocs.AddRoleDoc
     @PutMapping("/users/{userId}/roles")
     public ResponseEntity<?> addRoleToUser(
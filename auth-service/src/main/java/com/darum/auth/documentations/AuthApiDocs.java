@@ -102,6 +102,22 @@ public class AuthApiDocs {
     })
     public @interface GetUserByEmailDoc {}
 
+    //  BATCH USER LOOKUP
+    @Operation(
+            summary = "Look up many users",
+            description = "Returns the users matching any of the given emails or ids, resolved with one IN query per key type. " +
+                    "Unknown emails and ids are left out. Requires an authenticated caller. " +
+                    "At most `auth.batch-lookup.max-size` emails and ids per request.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching users",
+                    content = @Content(schema = @Schema(implementation = UserResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No keys given or too many keys"),
+            @ApiResponse(responseCode = "403", description = "Not authenticated")
+    })
+    public @interface BatchLookupDoc {}
+
     //  ADD ROLE
     @Operation(
             summary = "Add a role to a user",
@@ -7,6 +7,7 @@ import com.darum.shared.exceptions.UnauthorizedException;
 import com.darum.shared.exceptions.UserAlreadyExistsException;
 import com.darum.shared.exceptions.UserNotFoundException;
 import jakarta.validation.ValidationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -35,6 +36,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new ApiResponse(false, ex.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
+    // Hashing pool saturated: tell the client to back off instead of queueing it indefinitely
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<?> handleServiceBusy(ServiceBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
     // Handle Spring Security exceptions
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<?> handleBadCredentialsException(BadCredentialsException ex) {
@@ -0,0 +1,23 @@
+package com.darum.auth.mapper;
+
+import com.darum.auth.model.User;
+import com.darum.shared.dto.response.UserResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Field-by-field User to UserResponse mapping, used instead of ModelMapper on the response path.
+ */
+@Component
+public class UserMapper {
+
+    public UserResponse toResponse(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRoles() != null ? new ArrayList<>(user.getRoles()) : null);
+    }
+}
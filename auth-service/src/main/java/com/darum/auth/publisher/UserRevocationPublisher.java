@@ -0,0 +1,30 @@
+package com.darum.auth.publisher;
+
+import com.darum.shared.event.UserRevokedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserRevocationPublisher {
+    private final KafkaTemplate<String, UserRevokedEvent> revocationKafkaTemplate;
+
+    public void publishUserRevoked(Long userId, String email, String reason) {
+        UserRevokedEvent event = new UserRevokedEvent(userId, email, reason, Instant.now());
+
+        // Keyed by user id so revocations for one user stay ordered
+        revocationKafkaTemplate.send(UserRevokedEvent.TOPIC, String.valueOf(userId), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("❌ Failed to publish revocation for user {}: {}", userId, ex.getMessage());
+                    } else {
+                        log.info("✅ Published revocation for user {} ({})", userId, reason);
+                    }
+                });
+    }
+}
@@ -0,0 +1,50 @@
+package com.darum.auth.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt strength (log2 rounds) whose hash time on this machine stays within a target.
+ * Each step up doubles the cost, so calibration stops at the first strength over the target.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123!";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * @return the highest strength in [minStrength, maxStrength] whose median hash time is within target,
+     *         or minStrength if even that is slower
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            Duration took = medianHashTime(strength);
+            log.info("BCrypt strength {} hashes in {} ms", strength, took.toMillis());
+            if (took.compareTo(target) > 0) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    private static Duration medianHashTime(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD); // warm-up
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+}
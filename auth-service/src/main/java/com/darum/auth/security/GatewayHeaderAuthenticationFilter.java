@@ -3,25 +3,75 @@ package com.darum.auth.security;
 import com.darum.auth.model.CustomUserDetails;
 import com.darum.auth.model.User;
 import com.darum.auth.repositories.UserRepository;
+import com.darum.shared.security.IdentityEnvelope;
+import com.darum.shared.security.JwtClaims;
+import com.darum.shared.security.JwtUtil;
+import com.darum.shared.security.SecurityConstants;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class GatewayHeaderAuthenticationFilter  extends OncePerRequestFilter {
     private final UserRepository userRepository;
+
+    @Value("${identity.envelope.secret:${jwt.secret}}")
+    private String envelopeSecret;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // Signed envelope from the gateway: build the principal from it, no database hit
+        String envelopeHeader = request.getHeader(IdentityEnvelope.HEADER);
+        if (envelopeHeader != null) {
+            IdentityEnvelope envelope = IdentityEnvelope.open(envelopeHeader, envelopeSecret);
+            if (envelope != null && envelope.getEmail() != null) {
+                authenticate(new CustomUserDetails(toUser(envelope.getUserId(), envelope.getEmail(), envelope.getRoles())));
+                filterChain.doFilter(request, response);
+                return;
+            }
+            log.warn("Invalid or expired identity envelope, falling back to gateway headers");
+        }
+
+        // Direct service-to-service calls (e.g. employee-service batch lookups) carry the caller's JWT instead.
+        // Roles come from the database, not the token: revocations are only enforced at the gateway, so a
+        // token minted before a demotion must not keep its old roles here
+        String authorization = request.getHeader(SecurityConstants.TOKEN_HEADER);
+        if (authorization != null && authorization.startsWith(SecurityConstants.TOKEN_PREFIX)) {
+            try {
+                JwtClaims claims = JwtUtil.parse(authorization.substring(SecurityConstants.TOKEN_PREFIX.length()), jwtSecret);
+                Optional<User> user = claims.getUserId() != null
+                        ? userRepository.findById(claims.getUserId())
+                        : userRepository.findByEmail(claims.getSubject());
+                if (user.isPresent() && user.get().getEmail().equals(claims.getSubject())) {
+                    authenticate(new CustomUserDetails(user.get()));
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                log.warn("Bearer token for unknown user: {}", claims.getSubject());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("Invalid bearer token: {}", e.getMessage());
+            }
+        }
+
         String userId = request.getHeader("X-User-Id");
         String userEmail = request.getHeader("X-User-Email");
 
@@ -31,18 +81,28 @@ public class GatewayHeaderAuthenticationFilter  extends OncePerRequestFilter {
             Optional<User> userOptional = userRepository.findByEmail(userEmail);
 
             if (userOptional.isPresent()) {
-                User user = userOptional.get();
-                CustomUserDetails userDetails = new CustomUserDetails(user);
-
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-
-                // Set authentication in security context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                authenticate(new CustomUserDetails(userOptional.get()));
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(CustomUserDetails userDetails) {
+        // Create authentication token
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+
+        // Set authentication in security context
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    // Detached, credential-less User carrying only what the envelope vouches for
+    private User toUser(Long userId, String email, List<String> roles) {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(email);
+        user.setRoles(new ArrayList<>(roles));
+        return user;
+    }
 }
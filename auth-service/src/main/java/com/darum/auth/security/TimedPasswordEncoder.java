@@ -0,0 +1,47 @@
+package com.darum.auth.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records every hash ({@code operation=encode}) and verification ({@code operation=matches}) in the
+ * {@code auth.password.hash} timer; a login costs one {@code matches}, plus an {@code encode} when the
+ * stored hash is upgraded.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry, int strength) {
+        this.delegate = delegate;
+        this.encodeTimer = timer(meterRegistry, "encode", strength);
+        this.matchesTimer = timer(meterRegistry, "matches", strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, int strength) {
+        return Timer.builder("auth.password.hash")
+                .description("BCrypt hashing time")
+                .tag("operation", operation)
+                .tag("strength", String.valueOf(strength))
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
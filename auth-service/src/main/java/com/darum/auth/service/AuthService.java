@@ -1,7 +1,10 @@
 package com.darum.auth.service;
 
+import com.darum.auth.exception.ServiceBusyException;
+import com.darum.auth.mapper.UserMapper;
 import com.darum.auth.model.CustomUserDetails;
 import com.darum.auth.model.User;
+import com.darum.auth.publisher.UserRevocationPublisher;
 import com.darum.auth.repositories.UserRepository;
 import com.darum.auth.dto.request.AuthRequest;
 import com.darum.auth.dto.request.RegisterRequest;
@@ -27,6 +30,10 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -37,7 +44,29 @@ public class AuthService {
     private final JwtTokenService jwtTokenService;
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserRevocationPublisher userRevocationPublisher;
+    private final ExecutorService passwordHashingExecutor;
+
+    // Runs register on the hashing pool; fails fast with ServiceBusyException when the pool is saturated
+    public CompletableFuture<AuthResponse> registerAsync(RegisterRequest request) {
+        return onHashingPool(() -> register(request));
+    }
+
+    // Runs login (user lookup + BCrypt check) on the hashing pool
+    public CompletableFuture<AuthResponse> loginAsync(AuthRequest request) {
+        return onHashingPool(() -> login(request));
+    }
+
+    private <T> CompletableFuture<T> onHashingPool(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Password hashing pool saturated, rejecting request");
+            return CompletableFuture.failedFuture(new ServiceBusyException("Server busy, please retry shortly"));
+        }
+    }
 
     // returning response to automatically login after registration
     public AuthResponse register(RegisterRequest request) {
@@ -113,8 +142,10 @@ public class AuthService {
 
             // Save the updated user
             User updatedUser = userRepository.save(user);
+            // Tokens issued before this change carry the old roles
+            userRevocationPublisher.publishUserRevoked(updatedUser.getId(), updatedUser.getEmail(), "ROLE_ADDED:" + role);
 
-            UserResponse response = modelMapper.map(updatedUser, UserResponse.class);
+            UserResponse response = userMapper.toResponse(updatedUser);
 
 
             return response;
@@ -150,7 +181,9 @@ public class AuthService {
             user.setUpdatedAt(LocalDateTime.now());
             // Save the updated user
             User updatedUser = userRepository.save(user);
-            UserResponse response = modelMapper.map(updatedUser, UserResponse.class);
+            // Tokens issued before this change carry the old roles
+            userRevocationPublisher.publishUserRevoked(updatedUser.getId(), updatedUser.getEmail(), "ROLE_REMOVED:" + role);
+            UserResponse response = userMapper.toResponse(updatedUser);
             return response;
         } catch (RoleException | UnauthorizedException | UserNotFoundException e) {
             // Re-throw specific exceptions
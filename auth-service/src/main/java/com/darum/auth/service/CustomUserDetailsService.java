@@ -5,14 +5,19 @@ import com.darum.auth.model.CustomUserDetails;
 import com.darum.auth.model.User;
 import com.darum.auth.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -23,4 +28,16 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserDetails(user); // Return CustomUserDetails instead of User
     }
+
+    // Called by DaoAuthenticationProvider after a successful login whose stored hash is weaker than the current strength
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        user.setUpdatedAt(LocalDateTime.now());
+        User saved = userRepository.save(user);
+        log.info("🔐 Upgraded password hash for user: {}", saved.getEmail());
+        return new CustomUserDetails(saved);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.darum.auth.service;
+
+import com.darum.auth.mapper.UserMapper;
+import com.darum.auth.model.User;
+import com.darum.auth.repositories.UserRepository;
+import com.darum.shared.dto.request.BatchUserLookupRequest;
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.exceptions.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves many users in one query per key type ({@code WHERE email IN (...)}, {@code WHERE id IN (...)})
+ * instead of one {@code findByEmail} per user.
+ */
+@Service
+public class UserBatchLookupService {
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final int maxSize;
+
+    public UserBatchLookupService(UserRepository userRepository,
+                                  UserMapper userMapper,
+                                  @Value("${auth.batch-lookup.max-size:1000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.maxSize = maxSize;
+    }
+
+    // Users matching any of the emails or ids, each once; unknown keys are left out
+    @Transactional(readOnly = true)
+    public List<UserResponse> lookup(BatchUserLookupRequest request) {
+        Set<String> emails = request.getEmails() != null ? new LinkedHashSet<>(request.getEmails()) : Set.of();
+        Set<Long> ids = request.getIds() != null ? new LinkedHashSet<>(request.getIds()) : Set.of();
+        if (emails.isEmpty() && ids.isEmpty()) {
+            throw new ValidationException("Validation failed: at least one email or id is required");
+        }
+        if (emails.size() + ids.size() > maxSize) {
+            throw new ValidationException("Validation failed: at most " + maxSize + " emails and ids per batch lookup");
+        }
+
+        Map<Long, User> found = new LinkedHashMap<>();
+        if (!emails.isEmpty()) {
+            userRepository.findByEmailIn(emails).forEach(user -> found.put(user.getId(), user));
+        }
+        if (!ids.isEmpty()) {
+            userRepository.findAllById(ids).forEach(user -> found.putIfAbsent(user.getId(), user));
+        }
+        return found.values().stream()
+                .map(userMapper::toResponse)
+                .toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.darum.auth.benchmark;
+
+import com.darum.auth.AuthServiceApplication;
+import com.darum.auth.model.User;
+import com.darum.auth.repositories.UserRepository;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test of {@code GET /auth/user/email} ({@code AuthController.getByEmail}) with platform
+ * request threads and with the {@code virtual-threads} profile. Each mode boots auth-service on the
+ * test H2 database, warms up, then runs {@code callers} concurrent clients issuing
+ * {@code requests} calls each, and prints throughput and p50/p99 latency.
+ *
+ * In-memory H2 has no I/O wait, which is where virtual threads pay off, so every connection checkout is
+ * delayed by {@code -Dbench.db-latency-ms} (default 5) to stand in for a PostgreSQL round trip.
+ *
+ * Run {@link #main(String[])} from the IDE, or with java on the auth-service test classpath:
+ * {@code AuthLoadBenchmark [callers=1000] [requests=20]}.
+ */
+public class AuthLoadBenchmark {
+    private static final String EMAIL = "load.test@darum.com";
+
+    public static void main(String[] args) throws Exception {
+        int callers = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long dbLatencyMs = Long.getLong("bench.db-latency-ms", 5);
+
+        System.out.printf("callers=%d requests/caller=%d db-latency=%dms%n", callers, requests, dbLatencyMs);
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads, dbLatencyMs)) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                seedUser(context.getBean(UserRepository.class));
+
+                URI uri = URI.create("http://localhost:" + port + "/auth/user/email?email=" + EMAIL);
+                run(uri, Math.min(callers, 100), 5); // warm-up
+                Result result = run(uri, callers, requests);
+                System.out.printf("%-8s throughput=%8.0f req/s  p50=%6.1f ms  p99=%7.1f ms  errors=%d%n",
+                        virtualThreads ? "virtual" : "platform",
+                        result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, long dbLatencyMs) {
+        // Passed as command-line arguments so they override src/test/resources/application.properties
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--seed.superadmin=false",
+                "--superadmin.email=unused@darum.com",
+                "--superadmin.password=unused",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if (virtualThreads) {
+            arguments.add("--spring.profiles.active=virtual-threads");
+        }
+
+        return new SpringApplicationBuilder(AuthServiceApplication.class)
+                .initializers(context -> context.getBeanFactory()
+                        .addBeanPostProcessor(new SlowConnectionPostProcessor(dbLatencyMs)))
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static void seedUser(UserRepository userRepository) {
+        if (userRepository.findByEmail(EMAIL).isPresent()) {
+            return;
+        }
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setPassword("not-used-by-this-endpoint");
+        user.setFirstName("Load");
+        user.setLastName("Test");
+        user.setCreatedAt(LocalDateTime.now());
+        userRepository.save(user);
+    }
+
+    private static Result run(URI uri, int callers, int requests) throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        // Client side always uses virtual threads so it is never the bottleneck
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+            List<Future<long[]>> futures = new ArrayList<>(callers);
+            long start = System.nanoTime();
+            for (int c = 0; c < callers; c++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[requests];
+                    for (int r = 0; r < requests; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[r] = System.nanoTime() - sent;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] all = new long[callers * requests];
+            int i = 0;
+            for (Future<long[]> future : futures) {
+                for (long latency : future.get()) {
+                    all[i++] = latency;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(all);
+            return new Result(all.length / (elapsed / 1e9),
+                    percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, errors.get());
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int errors) {
+    }
+
+    // Wraps the DataSource so every connection checkout waits as if it crossed the network
+    private record SlowConnectionPostProcessor(long latencyMs) implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (latencyMs <= 0 || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    try {
+                        Thread.sleep(latencyMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return connection;
+                }
+            };
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -73,9 +74,12 @@ public class AuthControllerTest {
         registerRequest.setLastName("lastName");
         String json = mapper.writeValueAsString(registerRequest);
         String uri = "/api/auth/register";
-        mockMvc.perform(MockMvcRequestBuilders.post(uri)
+        MvcResult pending = mockMvc.perform(MockMvcRequestBuilders.post(uri)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(json))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(pending))
                 .andExpect(MockMvcResultMatchers.status().isCreated())
                 .andDo(MockMvcResultHandlers.print());
     }
@@ -87,9 +91,12 @@ public class AuthControllerTest {
         authRequest.setPassword("password");
         String json = mapper.writeValueAsString(authRequest);
         String uri = "/api/auth/login";
-        mockMvc.perform(MockMvcRequestBuilders.post(uri)
+        MvcResult pending = mockMvc.perform(MockMvcRequestBuilders.post(uri)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(json))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(pending))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.success").value(true))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.data.accessToken").exists())
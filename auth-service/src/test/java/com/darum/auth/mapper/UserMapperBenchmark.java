@@ -0,0 +1,67 @@
+package com.darum.auth.mapper;
+
+import com.darum.auth.model.User;
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.dto.Roles;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user mapping cost of the ModelMapper path against {@link UserMapper}.
+ * Run with {@code -prof gc} to compare allocation rates as well.
+ *
+ * Run {@link #main(String[])} from the IDE, or {@code org.openjdk.jmh.Main UserMapperBenchmark} on the auth-service test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        userMapper = new UserMapper();
+        LocalDateTime now = LocalDateTime.now();
+        user = new User(42L, "Jane", "Doe", "jane.doe@darum.com", "$2a$10$hash",
+                new ArrayList<>(List.of(Roles.USER, Roles.MANAGER)), true, now, now);
+    }
+
+    @Benchmark
+    public UserResponse modelMapperResponse() {
+        return modelMapper.map(user, UserResponse.class);
+    }
+
+    @Benchmark
+    public UserResponse userMapperResponse() {
+        return userMapper.toResponse(user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.darum.auth.security;
+
+import com.darum.auth.model.User;
+import com.darum.auth.repositories.UserRepository;
+import com.darum.shared.dto.Roles;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GatewayHeaderAuthenticationFilterTest {
+    private static final String JWT_SECRET = "auth-filter-test-secret-key-that-is-at-least-256-bits";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final GatewayHeaderAuthenticationFilter filter = new GatewayHeaderAuthenticationFilter(userRepository);
+
+    public GatewayHeaderAuthenticationFilterTest() {
+        ReflectionTestUtils.setField(filter, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(filter, "envelopeSecret", "auth-filter-test-envelope-secret");
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void bearerTokenGetsTheRolesStoredNowNotTheOnesInTheToken() throws Exception {
+        // Demoted after the token was issued
+        when(userRepository.findById(42L)).thenReturn(Optional.of(user(42L, "jane.doe@darum.com", Roles.USER)));
+
+        Authentication authentication = filter(bearer("jane.doe@darum.com", 42L, Roles.ADMIN));
+
+        assertEquals("jane.doe@darum.com", authentication.getName());
+        assertEquals(List.of(Roles.USER), authorities(authentication));
+    }
+
+    @Test
+    public void bearerTokenWithoutUserIdIsResolvedByEmail() throws Exception {
+        when(userRepository.findByEmail("jane.doe@darum.com")).thenReturn(Optional.of(user(42L, "jane.doe@darum.com", Roles.ADMIN)));
+
+        Authentication authentication = filter(bearer("jane.doe@darum.com", null, Roles.ADMIN));
+
+        assertEquals(List.of(Roles.ADMIN), authorities(authentication));
+    }
+
+    @Test
+    public void bearerTokenForDeletedOrMismatchedUserIsNotAuthenticated() throws Exception {
+        when(userRepository.findById(42L)).thenReturn(Optional.empty());
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L, "someone.else@darum.com", Roles.ADMIN)));
+
+        assertNull(filter(bearer("jane.doe@darum.com", 42L, Roles.ADMIN)));
+        assertNull(filter(bearer("jane.doe@darum.com", 7L, Roles.ADMIN)));
+    }
+
+    private Authentication filter(String authorization) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/users/batch-lookup");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static List<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    private static String bearer(String email, Long userId, String role) {
+        return "Bearer " + Jwts.builder()
+                .subject(email)
+                .claim("roles", List.of(role))
+                .claim("userId", userId)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static User user(Long id, String email, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setRoles(new ArrayList<>(List.of(role)));
+        return user;
+    }
+}
@@ -0,0 +1,58 @@
+package com.darum.auth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Low strengths keep this fast; only the upgrade path and the timers are under test
+public class TimedPasswordEncoderTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TimedPasswordEncoder encoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(5), registry, 5);
+
+    @Test
+    public void recordsEncodeAndMatchesTimings() {
+        String hash = encoder.encode("secret");
+        assertTrue(encoder.matches("secret", hash));
+
+        assertEquals(1, registry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(1, registry.get("auth.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    public void loginRehashesHashesBelowCurrentStrength() {
+        String staleHash = new BCryptPasswordEncoder(4).encode("secret");
+        assertTrue(encoder.upgradeEncoding(staleHash));
+
+        AtomicReference<String> upgraded = new AtomicReference<>();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(username -> User.withUsername(username).password(staleHash).roles("EMPLOYEE").build());
+        provider.setUserDetailsPasswordService((UserDetails user, String newPassword) -> {
+            upgraded.set(newPassword);
+            return User.withUserDetails(user).password(newPassword).build();
+        });
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("jane.doe@darum.com", "secret"));
+
+        assertNotNull(upgraded.get());
+        assertFalse(encoder.upgradeEncoding(upgraded.get()));
+        assertTrue(encoder.matches("secret", upgraded.get()));
+    }
+
+    @Test
+    public void calibrationNeverGoesBelowMinimumStrength() {
+        assertEquals(4, BCryptStrengthCalibrator.calibrate(Duration.ZERO, 4, 6));
+    }
+}
@@ -0,0 +1,50 @@
+package com.darum.auth.service;
+
+import com.darum.auth.dto.request.AuthRequest;
+import com.darum.auth.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// No Spring context: only checks that a saturated hashing pool fails fast instead of queueing
+public class AuthServiceHashingPoolTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loginIsRejectedWithServiceBusyWhenPoolAndQueueAreFull() {
+        // One task running, one queued: the pool is saturated
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        AuthService authService = new AuthService(null, null, null, null, null, null, null, executor);
+        CompletableFuture<?> login = authService.loginAsync(new AuthRequest());
+
+        ExecutionException failure = assertThrows(ExecutionException.class, login::get);
+        assertInstanceOf(ServiceBusyException.class, failure.getCause());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.darum.auth.service;
+
+import com.darum.auth.mapper.UserMapper;
+import com.darum.auth.model.User;
+import com.darum.auth.repositories.UserRepository;
+import com.darum.shared.dto.request.BatchUserLookupRequest;
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// No Spring context: checks the size cap and that a user matched by both email and id comes back once
+public class UserBatchLookupServiceTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserBatchLookupService service = new UserBatchLookupService(userRepository, new UserMapper(), 3);
+
+    @Test
+    public void rejectsRequestsOverTheCap() {
+        BatchUserLookupRequest request = new BatchUserLookupRequest(List.of("a@darum.com", "b@darum.com"), List.of(1L, 2L));
+
+        assertThrows(ValidationException.class, () -> service.lookup(request));
+        verify(userRepository, never()).findByEmailIn(anyCollection());
+    }
+
+    @Test
+    public void rejectsEmptyRequests() {
+        assertThrows(ValidationException.class, () -> service.lookup(new BatchUserLookupRequest(null, List.of())));
+    }
+
+    @Test
+    public void returnsEachUserOnce() {
+        User jane = user(1L, "jane.doe@darum.com");
+        User john = user(2L, "john.doe@darum.com");
+        when(userRepository.findByEmailIn(Set.of("jane.doe@darum.com"))).thenReturn(List.of(jane));
+        when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(jane, john));
+
+        List<UserResponse> users = service.lookup(
+                new BatchUserLookupRequest(List.of("jane.doe@darum.com", "jane.doe@darum.com"), List.of(1L, 2L)));
+
+        assertEquals(List.of(1L, 2L), users.stream().map(UserResponse::getId).toList());
+    }
+
+    private static User user(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setRoles(List.of("USER"));
+        return user;
+    }
+}
@@ -0,0 +1,89 @@
+package com.darum.employee.client;
+
+import com.darum.shared.client.UserBatchLookupClient;
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.security.SecurityConstants;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Size-bounded, TTL-evicting cache in front of auth-service {@code /auth/user/email}, and of
+ * {@code /auth/users/batch-lookup} for {@link #getByEmails}.
+ * Concurrent lookups of the same email share one in-flight request, and failed or empty
+ * lookups are never cached. Hit/miss/eviction counters are published as {@code cache.*}
+ * metrics with {@code cache=userLookup}.
+ */
+@Slf4j
+@Component
+public class UserLookupCache {
+    private static final String CACHE_NAME = "userLookup";
+
+    private final WebClient authWebClient;
+    private final UserBatchLookupClient userBatchLookupClient;
+    private final AsyncCache<String, UserResponse> cache;
+
+    public UserLookupCache(WebClient authWebClient,
+                           UserBatchLookupClient userBatchLookupClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${employee.user-cache.max-size:10000}") long maxSize,
+                           @Value("${employee.user-cache.ttl:30s}") Duration ttl) {
+        this.authWebClient = authWebClient;
+        this.userBatchLookupClient = userBatchLookupClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Mono<UserResponse> getByEmail(String email, String token) {
+        // suppressCancel: one cancelled caller must not cancel the lookup other callers are waiting on
+        return Mono.fromFuture(() -> cache.get(email, (key, executor) -> fetch(key, token).toFuture()), true);
+    }
+
+    /**
+     * Cached users are served from the cache; all misses are fetched together through the batch endpoint.
+     *
+     * @return users by email; emails auth-service does not know are absent
+     */
+    public Mono<Map<String, UserResponse>> getByEmails(Collection<String> emails, String token) {
+        if (emails.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.fromFuture(() -> cache.getAll(emails, (missing, executor) -> userBatchLookupClient.findByEmails(missing, token)
+                .collectMap(UserResponse::getEmail)
+                .toFuture()), true);
+    }
+
+    // Call after any role add/remove so the next lookup sees the new roles
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.synchronous().invalidate(email);
+            log.debug("Invalidated cached user lookup for: {}", email);
+        }
+    }
+
+    private Mono<UserResponse> fetch(String email, String token) {
+        return authWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/auth/user/email")
+                        .queryParam("email", email)
+                        .build())
+                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
+                .retrieve()
+                .bodyToMono(UserResponse.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.darum.employee.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${employee.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${employee.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${employee.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${employee.kafka.producer.idempotence:true}")
+    private boolean idempotence;
+
+    // Upper bound on how long send() may block waiting for metadata or buffer space
+    @Value("${employee.kafka.producer.max-block:5s}")
+    private Duration maxBlock;
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, (int) maxBlock.toMillis());
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        if (idempotence) {
+            // Required by the idempotent producer; keeps per-partition order across retries
+            configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+            configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        } else {
+            configProps.put(ProducerConfig.ACKS_CONFIG, "1"); // Leader acknowledgment
+        }
+        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        configProps.put(JsonSerializer.TYPE_MAPPINGS,
+                "employeeCreatedEvent:com.darum.shared.event.EmployeeCreatedEvent");
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+}
@@ -1,5 +1,6 @@
 package com.darum.employee.config;
 
+import com.darum.shared.client.UserBatchLookupClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
@@ -24,5 +25,13 @@ public class WebClientConfiguration {
                 .build();
     }
 
+    // Keep batch-size at or below auth-service's auth.batch-lookup.max-size
+    @Bean
+    public UserBatchLookupClient userBatchLookupClient(WebClient authWebClient,
+                                                       @Value("${employee.user-lookup.batch-size:500}") int batchSize,
+                                                       @Value("${employee.user-lookup.concurrency:4}") int concurrency) {
+        return new UserBatchLookupClient(authWebClient, batchSize, concurrency);
+    }
+
 
 }
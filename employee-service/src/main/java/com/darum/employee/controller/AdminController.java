@@ -1,17 +1,22 @@
 package com.darum.employee.controller;
 
 import com.darum.employee.documentations.AdminApiDocs;
+import com.darum.employee.dto.request.BulkUpdateStatusRequest;
 import com.darum.employee.dto.request.CreateEmployeeRequest;
 import com.darum.employee.dto.request.UpdateEmployeeStatusRequest;
 import com.darum.employee.service.AdminService;
+import com.darum.employee.service.BulkOnboardingService;
+import com.darum.employee.service.BulkUpdateService;
 import com.darum.shared.dto.response.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
@@ -21,6 +26,8 @@ import reactor.core.publisher.Mono;
 public class AdminController {
 
     private final AdminService adminService;
+    private final BulkOnboardingService bulkOnboardingService;
+    private final BulkUpdateService bulkUpdateService;
 
     @AdminApiDocs.CreateEmployeeDoc
     @PostMapping("/create")
@@ -35,18 +42,42 @@ public class AdminController {
 
     }
 
+    @AdminApiDocs.BulkCreateEmployeesDoc
+    @PostMapping(value = "/create/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<ApiResponse>> createEmployees(@RequestHeader("Authorization") String authorizationHeader,
+                                                             @RequestBody Flux<CreateEmployeeRequest> requests, ServerHttpRequest server) {
+        String token = extractToken(authorizationHeader);
+        return bulkOnboardingService.createEmployees(token, requests, server)
+                .map(result -> ResponseEntity.ok(new ApiResponse(true, result)))
+                .onErrorResume(e -> handleError(e, "Bulk Create Employees"));
+    }
+
     @AdminApiDocs.GetAllEmployeesDoc
     @GetMapping("/getAllEmployees")
-    public Mono<ResponseEntity<ApiResponse>> getAllEmployees(@RequestHeader("Authorization") String authorizationHeader, ServerHttpRequest request){
+    public Mono<ResponseEntity<ApiResponse>> getAllEmployees(@RequestHeader("Authorization") String authorizationHeader,
+                                                             @RequestParam(required = false) Long after,
+                                                             @RequestParam(defaultValue = "50") int limit,
+                                                             ServerHttpRequest request){
         String token = extractToken(authorizationHeader);
-        return adminService.getAllEmployees(token, request)
-                .collectList()
-                .map(employees -> ResponseEntity.ok(
-                        new ApiResponse(true, employees)
+        return adminService.getAllEmployees(token, after, limit, request)
+                .map(page -> ResponseEntity.ok(
+                        new ApiResponse(true, page)
                 ))
                 .onErrorResume(e -> handleError(e, "Get All Employees"));
     }
 
+    @AdminApiDocs.StreamAllEmployeesDoc
+    @GetMapping("/getAllEmployees/stream")
+    public Mono<ResponseEntity<?>> streamAllEmployees(@RequestHeader("Authorization") String authorizationHeader, ServerHttpRequest request){
+        String token = extractToken(authorizationHeader);
+        // One JSON object per line, written as rows arrive from R2DBC; nothing is collected in memory
+        return adminService.streamAllEmployees(token, request)
+                .<ResponseEntity<?>>map(employees -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(employees))
+                .onErrorResume(e -> handleError(e, "Stream All Employees").map(response -> response));
+    }
+
 
     private String extractToken(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
@@ -77,6 +108,37 @@ public class AdminController {
                 .onErrorResume(e -> handleError(e, "Status update"));
     }
 
+    @AdminApiDocs.BulkUpdateEmployeeStatusDoc
+    @PutMapping("/update-status/bulk")
+    public Mono<ResponseEntity<ApiResponse>> updateEmployeeStatuses(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @Valid @RequestBody BulkUpdateStatusRequest updateRequest,
+            ServerHttpRequest request) {
+
+        String token = extractToken(authorizationHeader);
+        return bulkUpdateService.updateStatus(token, updateRequest, request)
+                .map(result -> ResponseEntity.ok(new ApiResponse(true, result)))
+                .onErrorResume(e -> handleError(e, "Bulk status update"));
+    }
+
+    @AdminApiDocs.ReadModelConsistencyDoc
+    @GetMapping("/read-model/consistency")
+    public Mono<ResponseEntity<ApiResponse>> checkReadModel(@RequestHeader("Authorization") String authorizationHeader, ServerHttpRequest request) {
+        String token = extractToken(authorizationHeader);
+        return adminService.checkReadModel(token, request)
+                .map(report -> ResponseEntity.ok(new ApiResponse(true, report)))
+                .onErrorResume(e -> handleError(e, "Read model consistency check"));
+    }
+
+    @AdminApiDocs.RebuildReadModelDoc
+    @PostMapping("/read-model/rebuild")
+    public Mono<ResponseEntity<ApiResponse>> rebuildReadModel(@RequestHeader("Authorization") String authorizationHeader, ServerHttpRequest request) {
+        String token = extractToken(authorizationHeader);
+        return adminService.rebuildReadModel(token, request)
+                .map(count -> ResponseEntity.ok(new ApiResponse(true, "Department read model rebuilt with " + count + " employees")))
+                .onErrorResume(e -> handleError(e, "Read model rebuild"));
+    }
+
     private Mono<ResponseEntity<ApiResponse>> handleError(Throwable e, String operationType) {
         String errorMessage = e.getMessage();
         log.error("❌ {} failed: {}", operationType, errorMessage);
@@ -97,8 +159,11 @@ public class AdminController {
                 errorMessage.contains("Validation failed")) {
             return HttpStatus.BAD_REQUEST;
         } else if (errorMessage.contains("already exists") ||
-                errorMessage.contains("User already exists as an employee")) {
+                errorMessage.contains("User already exists as an employee") ||
+                errorMessage.contains("already in progress")) {
             return HttpStatus.CONFLICT;
+        } else if (errorMessage.contains("not loaded yet")) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
         } else if (errorMessage.contains("Authentication failed")) {
             return HttpStatus.UNAUTHORIZED;
         } else {
@@ -1,7 +1,9 @@
 package com.darum.employee.controller;
 
 import com.darum.employee.documentations.DepartmentApiDocs;
+import com.darum.employee.dto.request.BulkUpdateDepartmentRequest;
 import com.darum.employee.dto.request.UpdateDepartmentRequest;
+import com.darum.employee.service.BulkUpdateService;
 import com.darum.employee.service.DepartmentService;
 import com.darum.shared.dto.response.ApiResponse;
 import jakarta.validation.Valid;
@@ -19,6 +21,7 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class DepartmentController {
     private final DepartmentService departmentService;
+    private final BulkUpdateService bulkUpdateService;
 
     @DepartmentApiDocs.GetAllDepartmentsDoc
     @GetMapping("/all")
@@ -60,6 +63,19 @@ public class DepartmentController {
                 .onErrorResume(e -> handleError(e, "Department update"));
     }
 
+    @DepartmentApiDocs.BulkUpdateEmployeeDepartmentDoc
+    @PutMapping("/employee/update/bulk")
+    public Mono<ResponseEntity<ApiResponse>> updateEmployeeDepartments(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @Valid @RequestBody BulkUpdateDepartmentRequest updateRequest,
+            ServerHttpRequest request) {
+
+        String token = extractToken(authorizationHeader);
+        return bulkUpdateService.updateDepartment(token, updateRequest, request)
+                .map(result -> ResponseEntity.ok(new ApiResponse(true, result)))
+                .onErrorResume(e -> handleError(e, "Bulk department update"));
+    }
+
     private String extractToken(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             return authorizationHeader.substring(7);
@@ -86,7 +102,8 @@ public class DepartmentController {
             return HttpStatus.NOT_FOUND;
         } else if (errorMessage.contains("Invalid department") ||
                 errorMessage.contains("Employee code is required") ||
-                errorMessage.contains("Department is required")) {
+                errorMessage.contains("Department is required") ||
+                errorMessage.contains("Validation failed")) {
             return HttpStatus.BAD_REQUEST;
         } else {
             return HttpStatus.INTERNAL_SERVER_ERROR;
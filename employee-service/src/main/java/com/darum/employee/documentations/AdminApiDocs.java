@@ -52,23 +52,122 @@ public class AdminApiDocs {
     )
     public @interface CreateEmployeeDoc {}
 
+    //  BULK CREATE EMPLOYEES
+    @Operation(
+            summary = "Bulk create employees",
+            description = "Creates many employees from a JSON array or newline-delimited JSON (application/x-ndjson) of create requests. " +
+                    "Returns one result per row, in request order; rows that fail (unknown user, invalid department, already an employee) " +
+                    "are reported individually while the others are created. At most `employee.bulk.max-rows` rows per request. " +
+                    "Requires Admin or SuperAdmin access.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-row results with created and failed counts",
+                    content = @Content(schema = @Schema(implementation = com.darum.shared.dto.response.ApiResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid token"),
+            @ApiResponse(responseCode = "403", description = "Access denied - only Admin/SuperAdmin")
+    })
+    public @interface BulkCreateEmployeesDoc {}
+
     //  GET ALL EMPLOYEES
     @Operation(
             summary = "Get all employees",
-            description = "Retrieves a list of all employees in the system. Requires Admin or SuperAdmin access.",
+            description = "Retrieves one page of employees ordered by id. Pass `nextCursor` from the previous page as `after` " +
+                    "to continue; `limit` defaults to 50 (max 500). Requires Admin or SuperAdmin access.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of employees retrieved successfully",
+                    description = "Page of employees retrieved successfully",
                     content = @Content(schema = @Schema(implementation = com.darum.shared.dto.response.ApiResponse.class))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Access denied")
     })
     public @interface GetAllEmployeesDoc {}
 
+    //  STREAM ALL EMPLOYEES
+    @Operation(
+            summary = "Stream all employees",
+            description = "Streams every employee as newline-delimited JSON (application/x-ndjson) with backpressure. " +
+                    "Requires Admin or SuperAdmin access.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Employees streamed one per line",
+                    content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = EmployeeResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public @interface StreamAllEmployeesDoc {}
+
+    //  BULK UPDATE EMPLOYEE STATUS
+    @Operation(
+            summary = "Bulk update employee status",
+            description = "Sets one status on many employees by employee code, in one transaction of set-based UPDATEs. " +
+                    "Returns the updated employees; codes that matched nothing or already had the status are listed as skipped, " +
+                    "and codes an Admin may not change (other admins, themselves) as denied. " +
+                    "At most `employee.bulk.max-rows` codes per request. Requires Admin or SuperAdmin access.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Updated employees with skipped and denied codes",
+                    content = @Content(schema = @Schema(implementation = com.darum.shared.dto.response.ApiResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid status, or no/too many codes"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public @interface BulkUpdateEmployeeStatusDoc {}
+
+    //  READ MODEL CONSISTENCY
+    @Operation(
+            summary = "Check department read model",
+            description = "Compares the in-memory department read model with the employees table and lists missing, stale and extra employee codes. " +
+                    "Requires Admin or SuperAdmin access.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Consistency report",
+                    content = @Content(schema = @Schema(implementation = com.darum.shared.dto.response.ApiResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "503", description = "Read model not loaded yet")
+    })
+    public @interface ReadModelConsistencyDoc {}
+
+    //  READ MODEL REBUILD
+    @Operation(
+            summary = "Rebuild department read model",
+            description = "Reloads the in-memory department read model from the employees table. Requires Admin or SuperAdmin access.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Read model rebuilt",
+                    content = @Content(schema = @Schema(implementation = com.darum.shared.dto.response.ApiResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "409", description = "A rebuild is already in progress")
+    })
+    public @interface RebuildReadModelDoc {}
+
     //  UPDATE EMPLOYEE STATUS
     @Operation(
             summary = "Update employee status",
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import com.darum.employee.dto.request.BulkUpdateDepartmentRequest;
 import com.darum.employee.dto.request.UpdateDepartmentRequest;
 
 
@@ -71,4 +72,40 @@ public class DepartmentApiDocs {
     )
     public @interface UpdateEmployeeDepartmentDoc {}
 
+    // 🔹 BULK UPDATE EMPLOYEE DEPARTMENT
+    @Operation(
+            summary = "Bulk update employee department",
+            description = "Moves many employees, by employee code, to one department in one transaction of set-based UPDATEs. " +
+                    "Codes that matched nothing or were already in the department are listed as skipped. " +
+                    "Requires Admin or SuperAdmin access.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Updated employees with skipped codes",
+                    content = @Content(schema = @Schema(implementation = com.darum.shared.dto.response.ApiResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid department, or no/too many codes"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied - insufficient privileges")
+    })
+    @RequestBody(
+            required = true,
+            description = "Bulk department update request",
+            content = @Content(
+                    schema = @Schema(implementation = BulkUpdateDepartmentRequest.class),
+                    examples = @ExampleObject(
+                            name = "Bulk Update Department Example",
+                            value = """
+                            {
+                              "employeeCodes": ["EMP-4F2K9Q", "EMP-7H3M1Z"],
+                              "department": "IT"
+                            }
+                            """
+                    )
+            )
+    )
+    public @interface BulkUpdateEmployeeDepartmentDoc {}
+
 }
@@ -0,0 +1,18 @@
+package com.darum.employee.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkUpdateDepartmentRequest {
+    @NotEmpty(message = "Employee codes are required")
+    private List<String> employeeCodes;
+
+    @NotBlank(message = "Department is required")
+    private String department;
+}
@@ -0,0 +1,18 @@
+package com.darum.employee.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkUpdateStatusRequest {
+    @NotEmpty(message = "Employee codes are required")
+    private List<String> employeeCodes;
+
+    @NotNull(message = "Status is required")
+    private String status;
+}
@@ -0,0 +1,20 @@
+package com.darum.employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateEmployeeResponse {
+    private int total;
+    private int created;
+    private int failed;
+    // One entry per request row, in request order
+    private List<BulkCreateEmployeeResult> results;
+}
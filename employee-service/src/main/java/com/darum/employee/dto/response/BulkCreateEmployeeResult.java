@@ -0,0 +1,29 @@
+package com.darum.employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateEmployeeResult {
+    // Zero-based position of the row in the request
+    private long index;
+    private String email;
+    private boolean success;
+    // Set when success is true
+    private EmployeeResponse employee;
+    // Set when success is false
+    private String error;
+
+    public static BulkCreateEmployeeResult created(long index, EmployeeResponse employee) {
+        return new BulkCreateEmployeeResult(index, employee.getEmail(), true, employee, null);
+    }
+
+    public static BulkCreateEmployeeResult failed(long index, String email, String error) {
+        return new BulkCreateEmployeeResult(index, email, false, null, error);
+    }
+}
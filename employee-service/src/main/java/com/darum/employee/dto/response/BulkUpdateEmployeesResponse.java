@@ -0,0 +1,22 @@
+package com.darum.employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateEmployeesResponse {
+    private int requested;
+    private int updated;
+    private List<EmployeeResponse> employees;
+    // Codes that matched no employee or already had the requested value
+    private List<String> skipped;
+    // Codes the caller may not change (admins, or the caller themselves)
+    private List<String> denied;
+}
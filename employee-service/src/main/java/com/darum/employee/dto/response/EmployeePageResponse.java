@@ -0,0 +1,19 @@
+package com.darum.employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageResponse {
+    private List<EmployeeResponse> employees;
+    // Pass back as "after" to fetch the next page; null on the last page
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.darum.employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadModelConsistencyResponse {
+    private boolean consistent;
+    private long databaseCount;
+    private long readModelCount;
+    // Employee codes in the database but not in memory
+    private List<String> missing;
+    // Employee codes whose in-memory copy differs from the database
+    private List<String> stale;
+    // Employee codes in memory but no longer in the database
+    private List<String> extra;
+}
@@ -0,0 +1,57 @@
+package com.darum.employee.mapper;
+
+import com.darum.employee.dto.response.EmployeeDepartmentResponse;
+import com.darum.employee.dto.response.EmployeeResponse;
+import com.darum.employee.model.Employee;
+import com.darum.employee.readmodel.EmployeeProjection;
+import org.springframework.stereotype.Component;
+
+/**
+ * Field-by-field Employee response mapping. Replaces ModelMapper on the response path, which
+ * resolved properties reflectively on every call; output is identical (enums rendered by name).
+ */
+@Component
+public class EmployeeMapper {
+
+    public EmployeeResponse toResponse(Employee employee) {
+        EmployeeResponse response = new EmployeeResponse();
+        response.setEmployeeCode(employee.getEmployeeCode());
+        response.setUserId(employee.getUserId());
+        response.setFirstName(employee.getFirstName());
+        response.setLastName(employee.getLastName());
+        response.setEmail(employee.getEmail());
+        response.setStatus(employee.getStatus() != null ? employee.getStatus().name() : null);
+        response.setDepartment(employee.getDepartment() != null ? employee.getDepartment().name() : null);
+        response.setCreatedAt(employee.getCreatedAt());
+        response.setUpdatedAt(employee.getUpdatedAt());
+        return response;
+    }
+
+    public EmployeeDepartmentResponse toDepartmentResponse(Employee employee) {
+        EmployeeDepartmentResponse response = new EmployeeDepartmentResponse();
+        response.setEmployeeCode(employee.getEmployeeCode());
+        response.setUserId(employee.getUserId());
+        response.setFirstName(employee.getFirstName());
+        response.setLastName(employee.getLastName());
+        response.setEmail(employee.getEmail());
+        response.setStatus(employee.getStatus() != null ? employee.getStatus().name() : null);
+        response.setDepartment(employee.getDepartment());
+        response.setCreatedAt(employee.getCreatedAt());
+        response.setUpdatedAt(employee.getUpdatedAt());
+        return response;
+    }
+
+    public EmployeeDepartmentResponse toDepartmentResponse(EmployeeProjection employee) {
+        EmployeeDepartmentResponse response = new EmployeeDepartmentResponse();
+        response.setEmployeeCode(employee.getEmployeeCode());
+        response.setUserId(employee.getUserId());
+        response.setFirstName(employee.getFirstName());
+        response.setLastName(employee.getLastName());
+        response.setEmail(employee.getEmail());
+        response.setStatus(employee.getStatus() != null ? employee.getStatus().name() : null);
+        response.setDepartment(employee.getDepartment());
+        response.setCreatedAt(employee.getCreatedAt());
+        response.setUpdatedAt(employee.getUpdatedAt());
+        return response;
+    }
+}
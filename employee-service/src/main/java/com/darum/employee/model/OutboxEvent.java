@@ -0,0 +1,55 @@
+package com.darum.employee.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("topic")
+    private String topic;
+
+    @Column("message_key")
+    private String messageKey;
+
+    // Fully qualified class of the serialized event, used by the relay to rebuild it
+    @Column("event_type")
+    private String eventType;
+
+    @Column("payload")
+    private String payload;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("published_at")
+    private LocalDateTime publishedAt;
+
+    @Column("attempts")
+    private int attempts;
+
+    // Not picked up again before this time; null means due now
+    @Column("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column("last_error")
+    private String lastError;
+
+    // Parked: never sent again, kept for inspection
+    @Column("dead")
+    private boolean dead;
+}
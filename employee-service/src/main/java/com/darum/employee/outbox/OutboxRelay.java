@@ -0,0 +1,219 @@
+package com.darum.employee.outbox;
+
+import com.darum.employee.model.OutboxEvent;
+import com.darum.employee.publisher.EventPublisher;
+import com.darum.employee.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains {@code outbox_events} to Kafka off the request path.
+ *
+ * Every {@code employee.outbox.linger} the relay locks up to {@code employee.outbox.batch-size}
+ * due rows ({@code FOR UPDATE SKIP LOCKED}), sends them in id order, waits for the broker acks and
+ * marks the acknowledged ones published in the same transaction. A full batch is followed
+ * immediately by the next one. Delivery is at-least-once: each record carries an
+ * {@value #OUTBOX_ID_HEADER} header consumers can use to drop duplicates.
+ *
+ * A row the broker rejects is retried with exponential backoff ({@code employee.outbox.initial-backoff}
+ * doubling up to {@code employee.outbox.max-backoff}) and parked as dead after
+ * {@code employee.outbox.max-attempts}; a row that cannot be turned into a record at all is parked
+ * straight away. Either way the rest of the batch goes out, so one bad row no longer holds up the
+ * outbox, at the cost of later events for the same key overtaking a row that is backing off.
+ *
+ * Published rows are deleted once older than {@code employee.outbox.retention}, checked every
+ * {@code employee.outbox.purge-interval}. Dead rows are kept for inspection.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    public static final String OUTBOX_ID_HEADER = "outbox-id";
+    private static final String EVENT_PACKAGE = "com.darum.shared.event.";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration linger;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Duration purgeInterval;
+
+    private Disposable relay;
+    private Disposable purge;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       EventPublisher eventPublisher,
+                       TransactionalOperator transactionalOperator,
+                       ObjectMapper objectMapper,
+                       @Value("${employee.outbox.enabled:true}") boolean enabled,
+                       @Value("${employee.outbox.batch-size:100}") int batchSize,
+                       @Value("${employee.outbox.linger:200ms}") Duration linger,
+                       @Value("${employee.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${employee.outbox.initial-backoff:1s}") Duration initialBackoff,
+                       @Value("${employee.outbox.max-backoff:5m}") Duration maxBackoff,
+                       @Value("${employee.outbox.retention:7d}") Duration retention,
+                       @Value("${employee.outbox.purge-interval:1h}") Duration purgeInterval) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox relay disabled, domain events stay in outbox_events");
+            return;
+        }
+        relay = Flux.interval(linger)
+                .onBackpressureDrop()
+                .concatMap(tick -> drain(), 1)
+                .subscribe();
+        purge = Flux.interval(purgeInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> purge(), 1)
+                .subscribe();
+        log.info("✅ Outbox relay started (batch size {}, linger {}, retention {})", batchSize, linger, retention);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (relay != null) {
+            relay.dispose();
+        }
+        if (purge != null) {
+            purge.dispose();
+        }
+    }
+
+    // Keeps draining while batches come back full
+    private Mono<Integer> drain() {
+        return relayBatch()
+                .expand(sent -> sent == batchSize ? relayBatch() : Mono.empty())
+                .reduce(0, Integer::sum)
+                .onErrorResume(error -> {
+                    log.error("❌ Outbox relay batch failed, will retry: {}", error.getMessage());
+                    return Mono.just(0);
+                });
+    }
+
+    // Emits the number of rows handled (published, backed off or parked), so a full batch means more may be due
+    Mono<Integer> relayBatch() {
+        Mono<Integer> batch = outboxEventRepository.lockUnpublished(batchSize)
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? Mono.just(0) : relayRows(rows).thenReturn(rows.size()));
+        return transactionalOperator.transactional(batch);
+    }
+
+    private Mono<Void> relayRows(List<OutboxEvent> rows) {
+        List<OutboxEvent> sendable = new ArrayList<>(rows.size());
+        List<ProducerRecord<String, Object>> records = new ArrayList<>(rows.size());
+        List<Mono<Integer>> parked = new ArrayList<>();
+        for (OutboxEvent row : rows) {
+            try {
+                records.add(toRecord(row));
+                sendable.add(row);
+            } catch (RuntimeException e) {
+                log.error("❌ Parking outbox event {} ({}): {}", row.getId(), row.getEventType(), e.getMessage());
+                parked.add(outboxEventRepository.markDead(row.getId(), e.getMessage()));
+            }
+        }
+
+        return Flux.concat(parked).then(eventPublisher.publishAllSettled(Flux.fromIterable(records))
+                .index()
+                .collectList()
+                .flatMap(outcomes -> {
+                    List<Long> published = new ArrayList<>(outcomes.size());
+                    List<Mono<Integer>> failures = new ArrayList<>();
+                    for (var outcome : outcomes) {
+                        OutboxEvent row = sendable.get(outcome.getT1().intValue());
+                        if (outcome.getT2().isSent()) {
+                            published.add(row.getId());
+                        } else {
+                            failures.add(recordFailure(row, outcome.getT2().error()));
+                        }
+                    }
+                    if (!published.isEmpty()) {
+                        log.debug("Relayed {} outbox events", published.size());
+                    }
+                    Mono<Integer> markPublished = published.isEmpty()
+                            ? Mono.just(0)
+                            : outboxEventRepository.markPublished(published);
+                    return markPublished.thenMany(Flux.concat(failures)).then();
+                }));
+    }
+
+    private Mono<Integer> recordFailure(OutboxEvent row, Throwable error) {
+        String message = String.valueOf(error.getMessage());
+        if (row.getAttempts() + 1 >= maxAttempts) {
+            log.error("❌ Outbox event {} failed {} times, parking it: {}", row.getId(), row.getAttempts() + 1, message);
+        } else {
+            log.warn("⚠️ Outbox event {} failed (attempt {}), will retry: {}", row.getId(), row.getAttempts() + 1, message);
+        }
+        return outboxEventRepository.recordFailure(row.getId(), message, maxAttempts,
+                initialBackoff.toMillis() / 1000.0, maxBackoff.toMillis() / 1000.0);
+    }
+
+    // Deletes in batches so a large backlog does not hold one long-running statement
+    Mono<Integer> purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        return outboxEventRepository.purgePublishedBefore(cutoff, batchSize * 10)
+                .expand(deleted -> deleted == batchSize * 10
+                        ? outboxEventRepository.purgePublishedBefore(cutoff, batchSize * 10)
+                        : Mono.empty())
+                .reduce(0, Integer::sum)
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        log.info("🧹 Purged {} published outbox events older than {}", deleted, retention);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.error("❌ Outbox purge failed, will retry: {}", error.getMessage());
+                    return Mono.just(0);
+                });
+    }
+
+    private ProducerRecord<String, Object> toRecord(OutboxEvent row) {
+        if (!row.getEventType().startsWith(EVENT_PACKAGE)) {
+            throw new IllegalStateException("Unexpected outbox event type: " + row.getEventType());
+        }
+        Object event;
+        try {
+            event = objectMapper.readValue(row.getPayload(), Class.forName(row.getEventType()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read outbox event " + row.getId() + ": " + e.getMessage(), e);
+        }
+        ProducerRecord<String, Object> record = new ProducerRecord<>(row.getTopic(), row.getMessageKey(), event);
+        record.headers().add(OUTBOX_ID_HEADER, row.getId().toString().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,48 @@
+package com.darum.employee.outbox;
+
+import com.darum.employee.model.OutboxEvent;
+import com.darum.employee.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends domain events to the {@code outbox_events} table. Call it inside the same
+ * transaction as the {@code employees} change ({@code TransactionalOperator} or {@code @Transactional}) so the event is committed
+ * (or rolled back) together with it; {@link OutboxRelay} delivers it to Kafka afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public Mono<OutboxEvent> append(String topic, String key, Object event) {
+        return Mono.fromCallable(() -> toRow(topic, key, event))
+                .flatMap(outboxEventRepository::save);
+    }
+
+    // One row per event, all written in the caller's transaction; keys are taken pairwise from events
+    public Mono<Void> appendAll(String topic, List<String> keys, List<?> events) {
+        return Flux.range(0, events.size())
+                .concatMap(i -> Mono.fromCallable(() -> toRow(topic, keys.get(i), events.get(i))))
+                .collectList()
+                .flatMap(rows -> outboxEventRepository.saveAll(rows).then());
+    }
+
+    private OutboxEvent toRow(String topic, String key, Object event) throws JsonProcessingException {
+        OutboxEvent row = new OutboxEvent();
+        row.setTopic(topic);
+        row.setMessageKey(key);
+        row.setEventType(event.getClass().getName());
+        row.setPayload(objectMapper.writeValueAsString(event));
+        row.setCreatedAt(LocalDateTime.now());
+        return row;
+    }
+}
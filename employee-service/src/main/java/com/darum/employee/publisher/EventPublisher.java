@@ -0,0 +1,88 @@
+package com.darum.employee.publisher;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactive front for {@link KafkaTemplate}: each send completes with the broker ack (or the failure)
+ * instead of being fired and forgotten.
+ *
+ * {@code send()} can block on a metadata fetch or a full buffer, so it runs on boundedElastic rather
+ * than on the calling event loop. {@link #publishAllSettled(Flux)} keeps at most
+ * {@code employee.kafka.producer.max-in-flight} records unacknowledged; the producer itself groups
+ * them into batches according to its {@code linger.ms} and {@code batch.size}.
+ *
+ * Metrics: {@code employee.kafka.send} timer per topic and outcome, {@code employee.kafka.in-flight} gauge.
+ */
+@Slf4j
+@Component
+public class EventPublisher {
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public EventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${employee.kafka.producer.max-in-flight:256}") int maxInFlight) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+        meterRegistry.gauge("employee.kafka.in-flight", inFlight);
+    }
+
+    /**
+     * Publishes records with bounded concurrency. A rejected record does not stop the others: emits one
+     * outcome per record, in the order the records were given.
+     */
+    public Flux<SendOutcome> publishAllSettled(Flux<ProducerRecord<String, Object>> records) {
+        // A single worker calls send(), so records reach the producer (and each partition) in order
+        return records
+                .publishOn(Schedulers.boundedElastic(), maxInFlight)
+                .flatMapSequential(record -> send(record)
+                        .map(result -> SendOutcome.SENT)
+                        .onErrorResume(error -> Mono.just(new SendOutcome(error))), maxInFlight);
+    }
+
+    // error is null when the broker acknowledged the record
+    public record SendOutcome(Throwable error) {
+        public static final SendOutcome SENT = new SendOutcome(null);
+
+        public boolean isSent() {
+            return error == null;
+        }
+    }
+
+    private Mono<SendResult<String, Object>> send(ProducerRecord<String, Object> record) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            inFlight.incrementAndGet();
+            return Mono.fromFuture(kafkaTemplate.send(record))
+                    .doOnSuccess(result -> stop(sample, record.topic(), "success"))
+                    .doOnError(error -> {
+                        stop(sample, record.topic(), "failure");
+                        log.error("❌ Failed to publish to {}: {}", record.topic(), error.getMessage());
+                    })
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    private void stop(Timer.Sample sample, String topic, String outcome) {
+        sample.stop(Timer.builder("employee.kafka.send")
+                .description("Time from send() to broker acknowledgement")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
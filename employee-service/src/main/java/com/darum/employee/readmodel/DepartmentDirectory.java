@@ -0,0 +1,208 @@
+package com.darum.employee.readmodel;
+
+import com.darum.employee.dto.response.ReadModelConsistencyResponse;
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.repositories.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process read model of employees grouped by {@link Department}, so department listings and
+ * "which department is this user in" are answered from memory.
+ * Loaded once the application is ready and kept current by {@link #apply(Employee)} after every
+ * {@code EmployeeRepository.save}. Until the first load completes {@link #isReady()} is false and
+ * callers should fall back to the database.
+ *
+ * Each instance only sees its own writes: with several employee-service replicas, either rebuild
+ * periodically or set {@code employee.read-model.enabled=false}.
+ */
+@Slf4j
+@Component
+public class DepartmentDirectory {
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+
+    // Guarded by this: saves applied while a rebuild is reading the table, replayed onto the new snapshot
+    private final List<EmployeeProjection> appliedDuringRebuild = new ArrayList<>();
+    private boolean rebuilding;
+
+    public DepartmentDirectory(EmployeeRepository employeeRepository,
+                               @Value("${employee.read-model.enabled:true}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Department read model disabled, department listings will query the database");
+            return;
+        }
+        rebuild().subscribe(
+                count -> log.info("✅ Department read model loaded with {} employees", count),
+                error -> log.error("❌ Failed to load department read model: {}", error.getMessage()));
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public Optional<Department> departmentOf(String email) {
+        return Optional.ofNullable(snapshot.byEmail.get(email))
+                .map(EmployeeProjection::getDepartment);
+    }
+
+    // Ordered by employee id
+    public List<EmployeeProjection> employeesIn(Department department) {
+        return List.copyOf(snapshot.byDepartment.get(department).values());
+    }
+
+    public void apply(Employee employee) {
+        if (!enabled || employee == null || employee.getId() == null) {
+            return;
+        }
+        EmployeeProjection projection = EmployeeProjection.from(employee);
+        synchronized (this) {
+            if (rebuilding) {
+                appliedDuringRebuild.add(projection);
+            }
+            if (snapshot != null) {
+                snapshot.put(projection);
+            }
+        }
+    }
+
+    /**
+     * Reloads every employee from the database and swaps the result in atomically.
+     *
+     * @return number of employees loaded
+     */
+    public Mono<Integer> rebuild() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (rebuilding) {
+                    return Mono.error(new RuntimeException("Read model rebuild already in progress"));
+                }
+                rebuilding = true;
+                appliedDuringRebuild.clear();
+            }
+
+            return employeeRepository.findAll()
+                    .map(EmployeeProjection::from)
+                    .collectList()
+                    .map(rows -> {
+                        Snapshot fresh = new Snapshot();
+                        rows.forEach(fresh::put);
+                        synchronized (this) {
+                            appliedDuringRebuild.forEach(fresh::put);
+                            appliedDuringRebuild.clear();
+                            rebuilding = false;
+                            snapshot = fresh;
+                        }
+                        return fresh.byId.size();
+                    })
+                    .doOnError(error -> {
+                        synchronized (this) {
+                            appliedDuringRebuild.clear();
+                            rebuilding = false;
+                        }
+                    });
+        });
+    }
+
+    public Mono<ReadModelConsistencyResponse> checkConsistency() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Mono.error(new RuntimeException("Department read model not loaded yet"));
+        }
+
+        return employeeRepository.findAll()
+                .map(EmployeeProjection::from)
+                .collectList()
+                .map(rows -> {
+                    List<String> missing = new ArrayList<>();
+                    List<String> stale = new ArrayList<>();
+                    Set<Long> seen = new HashSet<>();
+
+                    for (EmployeeProjection row : rows) {
+                        seen.add(row.getId());
+                        EmployeeProjection inMemory = current.byId.get(row.getId());
+                        if (inMemory == null) {
+                            missing.add(row.getEmployeeCode());
+                        } else if (!inMemory.equals(row)) {
+                            stale.add(row.getEmployeeCode());
+                        }
+                    }
+
+                    List<String> extra = current.byId.values().stream()
+                            .filter(projection -> !seen.contains(projection.getId()))
+                            .map(EmployeeProjection::getEmployeeCode)
+                            .toList();
+
+                    boolean consistent = missing.isEmpty() && stale.isEmpty() && extra.isEmpty();
+                    if (!consistent) {
+                        log.warn("⚠️ Department read model drift: {} missing, {} stale, {} extra",
+                                missing.size(), stale.size(), extra.size());
+                    }
+                    return new ReadModelConsistencyResponse(consistent, rows.size(), current.byId.size(), missing, stale, extra);
+                });
+    }
+
+    private static final class Snapshot {
+        private final Map<Department, ConcurrentSkipListMap<Long, EmployeeProjection>> byDepartment = new EnumMap<>(Department.class);
+        private final Map<Long, EmployeeProjection> byId = new ConcurrentHashMap<>();
+        private final Map<String, EmployeeProjection> byEmail = new ConcurrentHashMap<>();
+
+        private Snapshot() {
+            // Every key is present up front, so the EnumMap itself is never modified after construction
+            for (Department department : Department.values()) {
+                byDepartment.put(department, new ConcurrentSkipListMap<>());
+            }
+        }
+
+        private void put(EmployeeProjection projection) {
+            EmployeeProjection previous = byId.get(projection.getId());
+            if (previous != null) {
+                if (isNewer(previous, projection)) {
+                    return;
+                }
+                if (previous.getDepartment() != null) {
+                    byDepartment.get(previous.getDepartment()).remove(previous.getId());
+                }
+                if (previous.getEmail() != null) {
+                    byEmail.remove(previous.getEmail(), previous);
+                }
+            }
+
+            byId.put(projection.getId(), projection);
+            if (projection.getDepartment() != null) {
+                byDepartment.get(projection.getDepartment()).put(projection.getId(), projection);
+            }
+            if (projection.getEmail() != null) {
+                byEmail.put(projection.getEmail(), projection);
+            }
+        }
+
+        private static boolean isNewer(EmployeeProjection current, EmployeeProjection incoming) {
+            return current.getUpdatedAt() != null && incoming.getUpdatedAt() != null
+                    && current.getUpdatedAt().isAfter(incoming.getUpdatedAt());
+        }
+    }
+}
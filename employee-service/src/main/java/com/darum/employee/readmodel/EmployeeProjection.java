@@ -0,0 +1,45 @@
+package com.darum.employee.readmodel;
+
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.model.Status;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Immutable snapshot of one employee row held by {@link DepartmentDirectory}.
+ */
+@Value
+public class EmployeeProjection {
+    Long id;
+    String employeeCode;
+    Long userId;
+    String firstName;
+    String lastName;
+    String email;
+    Status status;
+    Department department;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    public static EmployeeProjection from(Employee employee) {
+        return new EmployeeProjection(
+                employee.getId(),
+                employee.getEmployeeCode(),
+                employee.getUserId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getStatus(),
+                employee.getDepartment(),
+                toDatabasePrecision(employee.getCreatedAt()),
+                toDatabasePrecision(employee.getUpdatedAt()));
+    }
+
+    // Postgres TIMESTAMP keeps microseconds; match it so a just-saved entity equals the row read back
+    private static LocalDateTime toDatabasePrecision(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.truncatedTo(ChronoUnit.MICROS) : null;
+    }
+}
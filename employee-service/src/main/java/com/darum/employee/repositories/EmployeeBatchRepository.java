@@ -0,0 +1,106 @@
+package com.darum.employee.repositories;
+
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.model.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Multi-row writes that Spring Data R2DBC cannot express: {@code saveAll} issues one INSERT per entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeBatchRepository {
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter r2dbcConverter;
+
+    /**
+     * Inserts all employees with a single {@code INSERT ... VALUES (...), (...)}.
+     * Rows that hit a unique constraint (user, email or code already taken, e.g. by a concurrent
+     * request) are skipped rather than failing the statement, so only the inserted rows come back.
+     */
+    public Flux<Employee> insertAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return Flux.empty();
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO employees (employee_code, user_id, first_name, last_name, email, status, departments, created_at, updated_at) VALUES ");
+        for (int i = 0; i < employees.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:code").append(i).append(", :userId").append(i).append(", :firstName").append(i)
+                    .append(", :lastName").append(i).append(", :email").append(i).append(", :status").append(i)
+                    .append(", :department").append(i).append(", :createdAt").append(i).append(", :updatedAt").append(i)
+                    .append(")");
+        }
+        sql.append(" ON CONFLICT DO NOTHING RETURNING *");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            spec = spec.bind("code" + i, employee.getEmployeeCode())
+                    .bind("userId" + i, employee.getUserId())
+                    .bind("email" + i, employee.getEmail())
+                    .bind("status" + i, employee.getStatus().name())
+                    .bind("department" + i, employee.getDepartment().name())
+                    .bind("createdAt" + i, employee.getCreatedAt())
+                    .bind("updatedAt" + i, employee.getUpdatedAt());
+            spec = bindNullable(spec, "firstName" + i, employee.getFirstName());
+            spec = bindNullable(spec, "lastName" + i, employee.getLastName());
+        }
+
+        return spec.map((row, metadata) -> r2dbcConverter.read(Employee.class, row, metadata)).all();
+    }
+
+    /**
+     * Sets {@code status} on every listed employee with one {@code UPDATE ... WHERE employee_code = ANY(...)}.
+     * Employees already at that status are left untouched and not returned.
+     */
+    public Flux<UpdatedEmployee> updateStatus(List<String> employeeCodes, Status status, LocalDateTime updatedAt) {
+        return updateColumn("status", employeeCodes, status.name(), updatedAt);
+    }
+
+    // Department counterpart of updateStatus
+    public Flux<UpdatedEmployee> updateDepartment(List<String> employeeCodes, Department department, LocalDateTime updatedAt) {
+        return updateColumn("departments", employeeCodes, department.name(), updatedAt);
+    }
+
+    // column is always one of the constants above, never caller input
+    private Flux<UpdatedEmployee> updateColumn(String column, List<String> employeeCodes, String value, LocalDateTime updatedAt) {
+        if (employeeCodes.isEmpty()) {
+            return Flux.empty();
+        }
+        // The sub-select locks the rows and keeps their previous value, which RETURNING alone cannot see
+        String sql = "UPDATE employees e SET " + column + " = :value, updated_at = :updatedAt " +
+                "FROM (SELECT employee_id, " + column + " AS old_value FROM employees " +
+                "WHERE employee_code = ANY(:codes) AND " + column + " IS DISTINCT FROM :value FOR UPDATE) old " +
+                "WHERE e.employee_id = old.employee_id " +
+                "RETURNING e.*, old.old_value";
+
+        return databaseClient.sql(sql)
+                .bind("value", value)
+                .bind("updatedAt", updatedAt)
+                .bind("codes", employeeCodes.toArray(new String[0]))
+                .map((row, metadata) -> new UpdatedEmployee(
+                        r2dbcConverter.read(Employee.class, row, metadata),
+                        row.get("old_value", String.class)))
+                .all();
+    }
+
+    public record UpdatedEmployee(Employee employee, String oldValue) {
+    }
+
+    // Auth users may have no first/last name; bind() rejects null values
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+}
@@ -5,18 +5,46 @@ import com.darum.employee.model.Employee;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 
 
 @Repository
 public interface EmployeeRepository extends ReactiveCrudRepository<Employee, Long> {
      Flux<Employee> findByDepartment(Department department);
-    Mono<Boolean> existsByUserId(String userId);
+
+    // Keyset page: walks the primary key index, so cost does not grow with how deep the page is
+    @Query("SELECT * FROM employees WHERE employee_id > :after ORDER BY employee_id LIMIT :limit")
+    Flux<Employee> findPageAfter(Long after, int limit);
+    /**
+     * Inserts the employee unless one already exists for the same user.
+     *
+     * @return the stored row, or empty when the user is already an employee
+     */
+    default Mono<Employee> insertIfAbsent(Employee employee) {
+        return insertIfAbsent(employee.getEmployeeCode(), employee.getUserId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getStatus().name(), employee.getDepartment().name(),
+                employee.getCreatedAt(), employee.getUpdatedAt());
+    }
+
+    @Query("INSERT INTO employees (employee_code, user_id, first_name, last_name, email, status, departments, created_at, updated_at) " +
+            "VALUES (:employeeCode, :userId, :firstName, :lastName, :email, :status, :department, :createdAt, :updatedAt) " +
+            "ON CONFLICT (user_id) DO NOTHING RETURNING *")
+    Mono<Employee> insertIfAbsent(String employeeCode, Long userId, String firstName, String lastName, String email,
+                                  String status, String department, LocalDateTime createdAt, LocalDateTime updatedAt);
+
+    // Which of the given users are already employees, in one round trip
+    @Query("SELECT user_id FROM employees WHERE user_id IN (:userIds)")
+    Flux<Long> findExistingUserIds(Collection<Long> userIds);
+
+    Flux<Employee> findByEmployeeCodeIn(Collection<String> employeeCodes);
 
     Mono<Employee> findByEmail(@Email(message = "Email should be valid") @NotBlank(message = "Employee email is required") String employeeEmail);
 
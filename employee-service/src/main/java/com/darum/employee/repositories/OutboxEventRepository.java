@@ -0,0 +1,43 @@
+package com.darum.employee.repositories;
+
+import com.darum.employee.model.OutboxEvent;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends ReactiveCrudRepository<OutboxEvent, Long> {
+
+    // Row locks are held until the surrounding transaction ends; SKIP LOCKED lets several relays drain side by side
+    @Query("SELECT * FROM outbox_events WHERE published_at IS NULL AND dead = FALSE " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= CURRENT_TIMESTAMP) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+    Flux<OutboxEvent> lockUnpublished(int limit);
+
+    @Modifying
+    @Query("UPDATE outbox_events SET published_at = CURRENT_TIMESTAMP WHERE id IN (:ids)")
+    Mono<Integer> markPublished(List<Long> ids);
+
+    // Backs off exponentially (capped) and parks the row once attempts reach maxAttempts
+    @Modifying
+    @Query("UPDATE outbox_events SET attempts = attempts + 1, last_error = :error, dead = attempts + 1 >= :maxAttempts, " +
+            "next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => LEAST(:initialBackoffSeconds * POWER(2, attempts), :maxBackoffSeconds)) " +
+            "WHERE id = :id")
+    Mono<Integer> recordFailure(Long id, String error, int maxAttempts, double initialBackoffSeconds, double maxBackoffSeconds);
+
+    // For rows that can never be sent (unknown type, unreadable payload): no point retrying
+    @Modifying
+    @Query("UPDATE outbox_events SET attempts = attempts + 1, last_error = :error, dead = TRUE WHERE id = :id")
+    Mono<Integer> markDead(Long id, String error);
+
+    // Deletes at most limit published rows older than cutoff; call repeatedly until it returns less than limit
+    @Modifying
+    @Query("DELETE FROM outbox_events WHERE id IN " +
+            "(SELECT id FROM outbox_events WHERE published_at < :cutoff ORDER BY id LIMIT :limit)")
+    Mono<Integer> purgePublishedBefore(LocalDateTime cutoff, int limit);
+}
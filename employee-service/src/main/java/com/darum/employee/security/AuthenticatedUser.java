@@ -0,0 +1,29 @@
+package com.darum.employee.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Identity extracted from a verified JWT and stored as the principal of the
+ * reactive security context by {@link JwtAuthWebFilter}.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    private final Long userId;
+    private final String email;
+    private final List<String> roles;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    // A principal can only replace the /auth/me lookup when every claim we rely on is present
+    public boolean isComplete() {
+        return userId != null && email != null && roles != null && !roles.isEmpty();
+    }
+}
@@ -1,7 +1,16 @@
 package com.darum.employee.security;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import com.darum.shared.security.IdentityEnvelope;
+import com.darum.shared.security.JwtClaims;
+import com.darum.shared.security.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,9 +25,8 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,6 +36,22 @@ public class JwtAuthWebFilter implements WebFilter {
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${identity.envelope.secret:${jwt.secret}}")
+    private String envelopeSecret;
+
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    private Cache<String, JwtClaims> verifiedClaims;
+
+    @PostConstruct
+    public void init() {
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -36,31 +60,34 @@ public class JwtAuthWebFilter implements WebFilter {
             return chain.filter(exchange);
         }
 
+        // Requests routed through the gateway carry a signed identity envelope: one MAC check, no JWT parse
+        String envelopeHeader = request.getHeaders().getFirst(IdentityEnvelope.HEADER);
+        if (envelopeHeader != null) {
+            IdentityEnvelope envelope = IdentityEnvelope.open(envelopeHeader, envelopeSecret);
+            if (envelope != null && envelope.getEmail() != null) {
+                log.debug("Identity envelope verified for user: {} with roles: {}", envelope.getEmail(), envelope.getRoles());
+                var principal = new AuthenticatedUser(envelope.getUserId(), envelope.getEmail(), envelope.getRoles());
+                return authenticate(exchange, chain, principal);
+            }
+            log.warn("Invalid or expired identity envelope, falling back to JWT");
+        }
+
         String token = extractToken(exchange);
 
 
         if (token != null) {
-            log.debug("Extracted token: {}", token);
 
-            boolean isValid = validateToken(token);
+            JwtClaims claims = resolveClaims(token);
 
-            if (isValid) {
+            if (claims != null) {
                 try {
-                    Claims claims = parseToken(token);
                     String username = claims.getSubject();
-                    List<String> roles = claims.get("roles", List.class);
+                    List<String> roles = claims.getRoles();
                     log.debug("Token validated successfully for user: {} with roles: {}", username, roles);
 
                     if (username != null) {
-                        var authorities = roles.stream()
-                                .map(role -> new SimpleGrantedAuthority(role))
-                                .collect(Collectors.toList());
-
-                        var authentication = new UsernamePasswordAuthenticationToken(
-                                username, null, authorities);
-
-                        return chain.filter(exchange)
-                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+                        var principal = new AuthenticatedUser(claims.getUserId(), username, roles);
+                        return authenticate(exchange, chain, principal);
                     }
                 } catch (Exception e) {
                     log.warn("Error processing valid token: {}", e.getMessage());
@@ -75,6 +102,18 @@ public class JwtAuthWebFilter implements WebFilter {
         return chain.filter(exchange);
     }
 
+    private Mono<Void> authenticate(ServerWebExchange exchange, WebFilterChain chain, AuthenticatedUser principal) {
+        var authorities = principal.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role))
+                .collect(Collectors.toList());
+
+        var authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, authorities);
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
     private String extractToken(ServerWebExchange exchange) {
         String authHeader = exchange.getRequest()
                 .getHeaders()
@@ -86,26 +125,32 @@ public class JwtAuthWebFilter implements WebFilter {
         return null;
     }
 
-    private boolean validateToken(String token) {
+    // A repeated token costs one digest + hash lookup; only unseen tokens pay for signature verification
+    private JwtClaims resolveClaims(String token) {
+        String digest = JwtUtil.digest(token);
+        JwtClaims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtClaims claims = verifyToken(token);
+        if (claims != null && claims.getExpiresAt() != null) {
+            verifiedClaims.put(digest, claims);
+        }
+        return claims;
+    }
+
+    private JwtClaims verifyToken(String token) {
         try {
-            SecretKey key = getSigningKey();
-            Jws<Claims> jws = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-
-            Claims claims = jws.getPayload();
-
-            if (claims.getExpiration() != null) {
-                boolean isExpired = claims.getExpiration().before(new java.util.Date());
-                if (isExpired) {
-                    log.warn("Token has expired");
-                    return false;
-                }
+            JwtClaims claims = JwtUtil.parse(token, jwtSecret);
+
+            if (claims.isExpired()) {
+                log.warn("Token has expired");
+                return null;
             }
 
             log.debug("JWT Signature verified successfully");
-            return true;
+            return claims;
 
         } catch (ExpiredJwtException e) {
             log.warn("Token expired: {}", e.getMessage());
@@ -119,19 +164,25 @@ public class JwtAuthWebFilter implements WebFilter {
             log.warn("Unexpected error during token validation: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 
-    private Claims parseToken(String token) {
-        SecretKey key = getSigningKey();
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+    // Evicts each cached entry at the token's own exp claim
+    private static class ExpireAtTokenExpiry implements Expiry<String, JwtClaims> {
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            long remainingMillis = claims.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.darum.employee.security;
+
+public enum PrincipalResolutionMode {
+    // Build the current user from the verified JWT claims, falling back to auth-service when a claim is missing
+    CLAIMS,
+    // Always ask auth-service (/auth/me), the original behaviour
+    REMOTE
+}
@@ -0,0 +1,96 @@
+package com.darum.employee.security;
+
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.security.SecurityConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+
+/**
+ * Resolves the calling user for service methods.
+ * In {@link PrincipalResolutionMode#CLAIMS} mode the user is built from the claims that
+ * {@link JwtAuthWebFilter} already verified, and auth-service is only called when a claim is missing.
+ */
+@Slf4j
+@Component
+public class PrincipalResolver {
+    private final WebClient authWebClient;
+    private final PrincipalResolutionMode mode;
+    private final Counter claimsCounter;
+    private final Counter fallbackCounter;
+    private final Counter remoteCounter;
+
+    public PrincipalResolver(WebClient authWebClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${employee.principal.resolution-mode:CLAIMS}") PrincipalResolutionMode mode) {
+        this.authWebClient = authWebClient;
+        this.mode = mode;
+        this.claimsCounter = resolutionCounter(meterRegistry, "claims");
+        this.fallbackCounter = resolutionCounter(meterRegistry, "fallback");
+        this.remoteCounter = resolutionCounter(meterRegistry, "remote");
+        log.info("Principal resolution mode: {}", mode);
+    }
+
+    public Mono<UserResponse> resolve(String token, ServerHttpRequest request) {
+        if (mode == PrincipalResolutionMode.REMOTE) {
+            return Mono.defer(() -> {
+                remoteCounter.increment();
+                return fetchFromAuthService(token, request);
+            });
+        }
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.getPrincipal() instanceof AuthenticatedUser)
+                .map(authentication -> (AuthenticatedUser) authentication.getPrincipal())
+                .filter(AuthenticatedUser::isComplete)
+                .map(this::toUserResponse)
+                .doOnNext(user -> claimsCounter.increment())
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("Token claims incomplete, falling back to auth-service /auth/me");
+                    fallbackCounter.increment();
+                    return fetchFromAuthService(token, request);
+                }));
+    }
+
+    private UserResponse toUserResponse(AuthenticatedUser user) {
+        UserResponse response = new UserResponse();
+        response.setId(user.getUserId());
+        response.setEmail(user.getEmail());
+        response.setRoles(new ArrayList<>(user.getRoles()));
+        return response;
+    }
+
+    private Mono<UserResponse> fetchFromAuthService(String token, ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        String userEmail = request.getHeaders().getFirst("X-User-Email");
+        String userRoles = request.getHeaders().getFirst("X-User-Roles");
+
+        return authWebClient.get()
+                .uri("/auth/me")
+                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
+                .header("X-User-Id", userId)
+                .header("X-User-Email", userEmail)
+                .header("X-User-Roles", userRoles)
+                .retrieve()
+                .bodyToMono(UserResponse.class)
+                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())));
+    }
+
+    private static Counter resolutionCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("employee.principal.resolutions")
+                .description("How the calling user was resolved for a request")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
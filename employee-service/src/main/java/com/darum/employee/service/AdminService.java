@@ -1,34 +1,36 @@
 package com.darum.employee.service;
 
+import com.darum.employee.client.UserLookupCache;
 import com.darum.employee.dto.request.CreateEmployeeRequest;
 import com.darum.employee.dto.request.UpdateEmployeeStatusRequest;
+import com.darum.employee.dto.response.EmployeePageResponse;
 import com.darum.employee.dto.response.EmployeeResponse;
+import com.darum.employee.dto.response.ReadModelConsistencyResponse;
 import com.darum.employee.exception.EmployeeNotFoundException;
+import com.darum.employee.mapper.EmployeeMapper;
 import com.darum.employee.model.Department;
 import com.darum.employee.model.Employee;
 import com.darum.employee.model.Status;
-import com.darum.employee.publisher.AdminNotification;
+import com.darum.employee.outbox.OutboxWriter;
+import com.darum.employee.readmodel.DepartmentDirectory;
 import com.darum.employee.repositories.EmployeeRepository;
+import com.darum.employee.security.PrincipalResolver;
 import com.darum.shared.dto.Roles;
 import com.darum.shared.dto.response.UserResponse;
 import com.darum.shared.event.EmployeeCreatedEvent;
+import com.darum.shared.event.EmployeeStatusUpdatedEvent;
 import com.darum.shared.exceptions.UnauthorizedException;
-import com.darum.shared.security.SecurityConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import org.springframework.http.HttpHeaders;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.UUID;
+import java.util.List;
 
 
 @Slf4j
@@ -36,28 +38,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AdminService {
     private final EmployeeRepository employeeRepository;
-    private final WebClient authWebClient;
-    private final ModelMapper modelMapper;
-    //private final AdminNotification adminNotification;
-
+    private final EmployeeMapper employeeMapper;
+    private final PrincipalResolver principalResolver;
+    private final UserLookupCache userLookupCache;
+    private final DepartmentDirectory departmentDirectory;
+    private final OutboxWriter outboxWriter;
+    private final EmployeeCodeGenerator employeeCodeGenerator;
+    private final TransactionalOperator transactionalOperator;
+    private static final int MAX_PAGE_SIZE = 500;
 
 
 
+    // Principal and user lookups are remote calls, so the transaction only spans the insert and its outbox row
     public Mono<EmployeeResponse> createEmployee(String token , CreateEmployeeRequest createEmployeeRequest, ServerHttpRequest request) {
-        // Get headers from the incoming request (from gateway)
-        String userId = request.getHeaders().getFirst("X-User-Id");
-        String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
-
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMap(adminUser -> {
                     //  Check if admin has permission
                     if (!hasAdminPrivileges(adminUser.getRoles())) {
@@ -65,14 +59,7 @@ public class AdminService {
                     }
 
 
-                    return authWebClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path("/auth/user/email")
-                                    .queryParam("email", createEmployeeRequest.getEmail()) //
-                                    .build())
-                            .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                            .retrieve()
-                            .bodyToMono(UserResponse.class)
+                    return userLookupCache.getByEmail(createEmployeeRequest.getEmail(), token)
                             .onErrorResume(e -> Mono.error(new RuntimeException("User not found with email: " + createEmployeeRequest.getEmail())))
                             .flatMap(targetUser -> {
 
@@ -84,7 +71,6 @@ public class AdminService {
 
                     //  Build new employee
                     Employee employee = new Employee();
-                    employee.setEmployeeCode(generateEmployeeCode());
                     employee.setUserId(targetUser.getId());
                     employee.setFirstName(targetUser.getFirstName());
                     employee.setLastName(targetUser.getLastName());
@@ -93,62 +79,74 @@ public class AdminService {
                     employee.setStatus(Status.ACTIVE);
                     employee.setCreatedAt(LocalDateTime.now());
                     employee.setUpdatedAt(LocalDateTime.now());
-                    return employeeRepository.existsByUserId(targetUser.getId().toString())
-                            .flatMap(exists -> {
-                                if (exists) {
-                                    return Mono.error(new RuntimeException("User already exists as an employee"));
-                                }
-                                return employeeRepository.save(employee)
-                                        .map(savedEmployee -> {
-                                            log.info("✅ Employee created successfully: {}", savedEmployee.getEmail());
-                                            return modelMapper.map(savedEmployee, EmployeeResponse.class);
-                                        });
+                    return employeeCodeGenerator.next()
+                            .flatMap(code -> {
+                                employee.setEmployeeCode(code);
+                                return transactionalOperator.transactional(insertWithEvent(employee));
+                            })
+                            .doOnNext(departmentDirectory::apply)
+                            .map(savedEmployee -> {
+                                log.info("✅ Employee created successfully: {}", savedEmployee.getEmail());
+                                return employeeMapper.toResponse(savedEmployee);
                             });
                             });
                 });
 
     }
 
-    private String generateEmployeeCode() {
-        return "EMP-" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+    // One round trip: an existing employee for this user (even one inserted concurrently) comes back empty
+    private Mono<Employee> insertWithEvent(Employee employee) {
+        return employeeRepository.insertIfAbsent(employee)
+                .switchIfEmpty(Mono.error(new RuntimeException("User already exists as an employee")))
+                .flatMap(savedEmployee -> outboxWriter.append(EmployeeCreatedEvent.TOPIC, savedEmployee.getEmail(),
+                                new EmployeeCreatedEvent(savedEmployee.getEmployeeCode(), savedEmployee.getEmail(),
+                                        savedEmployee.getFirstName(), savedEmployee.getLastName(),
+                                        savedEmployee.getDepartment().name(), savedEmployee.getCreatedAt()))
+                        .thenReturn(savedEmployee));
     }
 
-    public Flux<EmployeeResponse> getAllEmployees(String token, ServerHttpRequest request) {
-        // Get headers from the incoming request (from gateway)
-        String userId = request.getHeaders().getFirst("X-User-Id");
-        String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
-
-        System.out.println("=== EMPLOYEE SERVICE: Gateway Headers ===");
-        System.out.println("=== X-User-Id: " + userId);
-        System.out.println("=== X-User-Email: " + userEmail);
-        System.out.println("=== X-User-Roles: " + userRoles);
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
-                .flatMapMany(adminUser -> {
+    public Mono<EmployeePageResponse> getAllEmployees(String token, Long after, int limit, ServerHttpRequest request) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new RuntimeException("Validation failed: limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        long cursor = after != null ? after : 0L;
+
+        return principalResolver.resolve(token, request)
+                .flatMap(adminUser -> {
                     //  Check if admin has permission
                     if (!hasAdminPrivileges(adminUser.getRoles())) {
                         return Mono.error(new UnauthorizedException("Access denied"));
                     }
-                    return employeeRepository.findAll()
-                            .map(employee -> modelMapper.map(employee, EmployeeResponse.class));
+                    // Fetch one extra row to learn whether another page exists
+                    return employeeRepository.findPageAfter(cursor, limit + 1)
+                            .collectList()
+                            .map(rows -> {
+                                boolean hasMore = rows.size() > limit;
+                                List<Employee> page = hasMore ? rows.subList(0, limit) : rows;
+                                Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+                                List<EmployeeResponse> employees = page.stream()
+                                        .map(employee -> employeeMapper.toResponse(employee))
+                                        .toList();
+                                return new EmployeePageResponse(employees, nextCursor, hasMore);
+                            });
+                });
+    }
 
-    });
-                }
+    // Access is checked up front so a denial is a normal error response, not a broken stream
+    public Mono<Flux<EmployeeResponse>> streamAllEmployees(String token, ServerHttpRequest request) {
+        return principalResolver.resolve(token, request)
+                .flatMap(adminUser -> {
+                    if (!hasAdminPrivileges(adminUser.getRoles())) {
+                        return Mono.error(new UnauthorizedException("Access denied"));
+                    }
+                    return Mono.just(employeeRepository.findAll()
+                            .map(employee -> employeeMapper.toResponse(employee)));
+                });
+    }
 
 
-    @Transactional
     public Mono<EmployeeResponse> updateEmployeeStatus(String token, UpdateEmployeeStatusRequest updateRequest, ServerHttpRequest request) {
-        String userId = request.getHeaders().getFirst("X-User-Id");
         String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
 
         log.info("🔍 Updating employee status: {} to {}, requested by: {}",
                 updateRequest.getEmail(), updateRequest.getStatus(), userEmail);
@@ -160,15 +158,7 @@ public class AdminService {
                     ". Valid statuses: " + Arrays.toString(Status.values())));
         }
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMap(currentUser -> {
                     if (!hasAdminPrivileges(currentUser.getRoles())) {
                         return Mono.error(new UnauthorizedException("Access denied: Admin"));
@@ -181,7 +171,7 @@ public class AdminService {
                                     return Mono.error(new UnauthorizedException(
                                             "Access denied: You cannot update status of other administrators or yourself"));
                                 }
-                                return processEmployeeStatusUpdate(updateRequest.getEmail(), status);
+                                return processEmployeeStatusUpdate(updateRequest.getEmail(), status, currentUser.getEmail());
                             });
                 });
     }
@@ -198,14 +188,7 @@ public class AdminService {
         }
 
         // Admin can only update non-admin users
-        return authWebClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/auth/user/email")
-                        .queryParam("email", targetEmail)
-                        .build())
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
+        return userLookupCache.getByEmail(targetEmail, token)
                 .map(targetUser -> {
                     // Admin cannot update other Admins or SuperAdmins
                     boolean targetIsAdmin = targetUser.getRoles().contains(Roles.ADMIN) ||
@@ -225,8 +208,9 @@ public class AdminService {
         }
     }
 
-    private Mono<EmployeeResponse> processEmployeeStatusUpdate(String email, Status status) {
-        return employeeRepository.findByEmail(email)
+    // The read model is only updated once the status change has committed
+    private Mono<EmployeeResponse> processEmployeeStatusUpdate(String email, Status status, String updatedBy) {
+        Mono<Employee> update = employeeRepository.findByEmail(email)
                 .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with email: " + email)))
                 .flatMap(employee -> {
                     Status oldStatus = employee.getStatus();
@@ -237,10 +221,37 @@ public class AdminService {
                             employee.getEmail(), oldStatus, status);
 
                     return employeeRepository.save(employee)
-                            .doOnSuccess(updated -> log.info("✅ Successfully updated employee {} status to {}",
-                                    updated.getEmail(), updated.getStatus()));
-                })
-                .map(updatedEmployee -> modelMapper.map(updatedEmployee, EmployeeResponse.class));
+                            .flatMap(updated -> outboxWriter.append(EmployeeStatusUpdatedEvent.TOPIC, updated.getEmail(),
+                                            new EmployeeStatusUpdatedEvent(updated.getEmployeeCode(), updated.getEmail(),
+                                                    String.valueOf(oldStatus), status.name(), updatedBy, updated.getUpdatedAt()))
+                                    .thenReturn(updated));
+                });
+        return transactionalOperator.transactional(update)
+                .doOnNext(departmentDirectory::apply)
+                .doOnSuccess(updated -> log.info("✅ Successfully updated employee {} status to {}",
+                        updated.getEmail(), updated.getStatus()))
+                .map(updatedEmployee -> employeeMapper.toResponse(updatedEmployee));
+    }
+
+    public Mono<ReadModelConsistencyResponse> checkReadModel(String token, ServerHttpRequest request) {
+        return principalResolver.resolve(token, request)
+                .flatMap(adminUser -> {
+                    if (!hasAdminPrivileges(adminUser.getRoles())) {
+                        return Mono.error(new UnauthorizedException("Access denied"));
+                    }
+                    return departmentDirectory.checkConsistency();
+                });
+    }
+
+    public Mono<Integer> rebuildReadModel(String token, ServerHttpRequest request) {
+        return principalResolver.resolve(token, request)
+                .flatMap(adminUser -> {
+                    if (!hasAdminPrivileges(adminUser.getRoles())) {
+                        return Mono.error(new UnauthorizedException("Access denied"));
+                    }
+                    log.info("🔄 Department read model rebuild requested by: {}", adminUser.getEmail());
+                    return departmentDirectory.rebuild();
+                });
     }
 
     private boolean hasAdminPrivileges(java.util.List<String> roles) {
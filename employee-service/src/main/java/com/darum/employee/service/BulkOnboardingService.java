@@ -0,0 +1,266 @@
+package com.darum.employee.service;
+
+import com.darum.employee.client.UserLookupCache;
+import com.darum.employee.dto.request.CreateEmployeeRequest;
+import com.darum.employee.dto.response.BulkCreateEmployeeResponse;
+import com.darum.employee.dto.response.BulkCreateEmployeeResult;
+import com.darum.employee.mapper.EmployeeMapper;
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.model.Status;
+import com.darum.employee.outbox.OutboxWriter;
+import com.darum.employee.readmodel.DepartmentDirectory;
+import com.darum.employee.repositories.EmployeeBatchRepository;
+import com.darum.employee.repositories.EmployeeRepository;
+import com.darum.employee.security.PrincipalResolver;
+import com.darum.shared.dto.Roles;
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.event.EmployeeCreatedEvent;
+import com.darum.shared.exceptions.UnauthorizedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many employees in one request. Rows are processed in chunks of {@code employee.bulk.chunk-size}:
+ * users are resolved with one batch lookup, existing employees are found with one {@code user_id IN (...)} query and
+ * the new rows go in with one multi-row INSERT. Each chunk commits on its own, and a bad row is reported
+ * in its result rather than failing the request.
+ */
+@Slf4j
+@Service
+public class BulkOnboardingService {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeBatchRepository employeeBatchRepository;
+    private final EmployeeMapper employeeMapper;
+    private final PrincipalResolver principalResolver;
+    private final UserLookupCache userLookupCache;
+    private final DepartmentDirectory departmentDirectory;
+    private final OutboxWriter outboxWriter;
+    private final EmployeeCodeGenerator employeeCodeGenerator;
+    private final TransactionalOperator transactionalOperator;
+    private final int maxRows;
+    private final int chunkSize;
+
+    public BulkOnboardingService(EmployeeRepository employeeRepository,
+                                 EmployeeBatchRepository employeeBatchRepository,
+                                 EmployeeMapper employeeMapper,
+                                 PrincipalResolver principalResolver,
+                                 UserLookupCache userLookupCache,
+                                 DepartmentDirectory departmentDirectory,
+                                 OutboxWriter outboxWriter,
+                                 EmployeeCodeGenerator employeeCodeGenerator,
+                                 TransactionalOperator transactionalOperator,
+                                 @Value("${employee.bulk.max-rows:10000}") int maxRows,
+                                 @Value("${employee.bulk.chunk-size:500}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.employeeBatchRepository = employeeBatchRepository;
+        this.employeeMapper = employeeMapper;
+        this.principalResolver = principalResolver;
+        this.userLookupCache = userLookupCache;
+        this.departmentDirectory = departmentDirectory;
+        this.outboxWriter = outboxWriter;
+        this.employeeCodeGenerator = employeeCodeGenerator;
+        this.transactionalOperator = transactionalOperator;
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+    }
+
+    public Mono<BulkCreateEmployeeResponse> createEmployees(String token, Flux<CreateEmployeeRequest> requests, ServerHttpRequest request) {
+        return principalResolver.resolve(token, request)
+                .flatMap(adminUser -> {
+                    if (!hasAdminPrivileges(adminUser.getRoles())) {
+                        return Mono.error(new UnauthorizedException("Access denied"));
+                    }
+                    // One past the cap is enough to reject an oversized body without reading the rest of it
+                    return requests.take(maxRows + 1L).collectList()
+                            .flatMap(rows -> {
+                                if (rows.isEmpty()) {
+                                    return Mono.error(new RuntimeException("Validation failed: at least one employee is required"));
+                                }
+                                if (rows.size() > maxRows) {
+                                    return Mono.error(new RuntimeException("Validation failed: at most " + maxRows + " employees per bulk request"));
+                                }
+                                log.info("📦 Bulk create of {} employees requested by: {}", rows.size(), adminUser.getEmail());
+                                return createAll(rows, token);
+                            });
+                });
+    }
+
+    private Mono<BulkCreateEmployeeResponse> createAll(List<CreateEmployeeRequest> rows, String token) {
+        Set<String> seenEmails = new HashSet<>();
+        List<Candidate> candidates = new ArrayList<>();
+        List<BulkCreateEmployeeResult> rejected = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateEmployeeRequest row = rows.get(i);
+            String email = row != null ? row.getEmail() : null;
+            if (email == null || email.isBlank() || !email.contains("@")) {
+                rejected.add(BulkCreateEmployeeResult.failed(i, email, "Validation failed: a valid email is required"));
+                continue;
+            }
+            Optional<Department> department = Department.fromString(row.getDepartment());
+            if (department.isEmpty()) {
+                rejected.add(BulkCreateEmployeeResult.failed(i, email, "Invalid department: " + row.getDepartment()));
+                continue;
+            }
+            if (!seenEmails.add(email.toLowerCase(Locale.ROOT))) {
+                rejected.add(BulkCreateEmployeeResult.failed(i, email, "Validation failed: duplicate email in request"));
+                continue;
+            }
+            candidates.add(new Candidate(i, email, department.get()));
+        }
+
+        return Flux.fromIterable(candidates)
+                .buffer(chunkSize)
+                .concatMap(chunk -> createChunk(chunk, token))
+                .collectList()
+                .map(created -> {
+                    List<BulkCreateEmployeeResult> results = new ArrayList<>(rows.size());
+                    created.forEach(results::addAll);
+                    results.addAll(rejected);
+                    results.sort((a, b) -> Long.compare(a.getIndex(), b.getIndex()));
+                    int succeeded = (int) results.stream().filter(BulkCreateEmployeeResult::isSuccess).count();
+                    log.info("✅ Bulk create finished: {} created, {} failed", succeeded, results.size() - succeeded);
+                    return new BulkCreateEmployeeResponse(results.size(), succeeded, results.size() - succeeded, results);
+                });
+    }
+
+    private Mono<List<BulkCreateEmployeeResult>> createChunk(List<Candidate> chunk, String token) {
+        return userLookupCache.getByEmails(chunk.stream().map(Candidate::email).toList(), token)
+                .onErrorResume(e -> {
+                    log.error("❌ Batch user lookup failed: {}", e.getMessage());
+                    return Mono.just(Map.of());
+                })
+                .map(users -> chunk.stream()
+                        .map(candidate -> new Resolved(candidate, users.get(candidate.email())))
+                        .toList())
+                .flatMap(resolved -> {
+                    List<BulkCreateEmployeeResult> results = new ArrayList<>(chunk.size());
+                    List<Resolved> found = new ArrayList<>();
+                    for (Resolved entry : resolved) {
+                        if (entry.user() == null || entry.user().getId() == null) {
+                            results.add(BulkCreateEmployeeResult.failed(entry.candidate().index(), entry.candidate().email(),
+                                    "User not found with email: " + entry.candidate().email()));
+                        } else {
+                            found.add(entry);
+                        }
+                    }
+                    if (found.isEmpty()) {
+                        return Mono.just(results);
+                    }
+
+                    List<Long> userIds = found.stream().map(entry -> entry.user().getId()).toList();
+                    return employeeRepository.findExistingUserIds(userIds)
+                            .collect(Collectors.toSet())
+                            .flatMap(existing -> {
+                                List<Resolved> fresh = new ArrayList<>();
+                                for (Resolved entry : found) {
+                                    if (existing.contains(entry.user().getId())) {
+                                        results.add(alreadyExists(entry.candidate()));
+                                    } else {
+                                        fresh.add(entry);
+                                    }
+                                }
+                                return insert(fresh).map(inserted -> {
+                                    results.addAll(inserted);
+                                    return results;
+                                });
+                            });
+                });
+    }
+
+    private Mono<List<BulkCreateEmployeeResult>> insert(List<Resolved> fresh) {
+        if (fresh.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        Mono<List<Employee>> saved = employeeCodeGenerator.next(fresh.size())
+                .map(codes -> {
+                    List<Employee> employees = new ArrayList<>(fresh.size());
+                    for (int i = 0; i < fresh.size(); i++) {
+                        Resolved entry = fresh.get(i);
+                        employees.add(newEmployee(codes.get(i), entry.user(), entry.candidate().department(), now));
+                    }
+                    return employees;
+                })
+                .flatMapMany(employeeBatchRepository::insertAll)
+                .collectList()
+                .flatMap(rows -> outboxWriter.appendAll(EmployeeCreatedEvent.TOPIC,
+                                rows.stream().map(Employee::getEmail).toList(),
+                                rows.stream().map(this::createdEvent).toList())
+                        .thenReturn(rows));
+
+        return transactionalOperator.transactional(saved)
+                .map(rows -> {
+                    rows.forEach(departmentDirectory::apply);
+                    Map<Long, Employee> byUserId = rows.stream()
+                            .collect(Collectors.toMap(Employee::getUserId, Function.identity()));
+                    List<BulkCreateEmployeeResult> results = new ArrayList<>(fresh.size());
+                    for (Resolved entry : fresh) {
+                        Employee employee = byUserId.get(entry.user().getId());
+                        results.add(employee != null
+                                ? BulkCreateEmployeeResult.created(entry.candidate().index(), employeeMapper.toResponse(employee))
+                                // Skipped by ON CONFLICT: created concurrently since the existence check
+                                : alreadyExists(entry.candidate()));
+                    }
+                    return results;
+                })
+                .onErrorResume(e -> {
+                    log.error("❌ Bulk insert of {} employees failed: {}", fresh.size(), e.getMessage());
+                    return Mono.just(fresh.stream()
+                            .map(entry -> BulkCreateEmployeeResult.failed(entry.candidate().index(), entry.candidate().email(), e.getMessage()))
+                            .toList());
+                });
+    }
+
+    private Employee newEmployee(String employeeCode, UserResponse user, Department department, LocalDateTime now) {
+        Employee employee = new Employee();
+        employee.setEmployeeCode(employeeCode);
+        employee.setUserId(user.getId());
+        employee.setFirstName(user.getFirstName());
+        employee.setLastName(user.getLastName());
+        employee.setEmail(user.getEmail());
+        employee.setDepartment(department);
+        employee.setStatus(Status.ACTIVE);
+        employee.setCreatedAt(now);
+        employee.setUpdatedAt(now);
+        return employee;
+    }
+
+    private EmployeeCreatedEvent createdEvent(Employee employee) {
+        return new EmployeeCreatedEvent(employee.getEmployeeCode(), employee.getEmail(),
+                employee.getFirstName(), employee.getLastName(),
+                employee.getDepartment().name(), employee.getCreatedAt());
+    }
+
+    private static BulkCreateEmployeeResult alreadyExists(Candidate candidate) {
+        return BulkCreateEmployeeResult.failed(candidate.index(), candidate.email(), "User already exists as an employee");
+    }
+
+    private boolean hasAdminPrivileges(List<String> roles) {
+        return roles.contains(Roles.ADMIN) || roles.contains(Roles.SUPERADMIN);
+    }
+
+    private record Candidate(long index, String email, Department department) {
+    }
+
+    private record Resolved(Candidate candidate, UserResponse user) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.darum.employee.service;
+
+import com.darum.employee.client.UserLookupCache;
+import com.darum.employee.dto.request.BulkUpdateDepartmentRequest;
+import com.darum.employee.dto.request.BulkUpdateStatusRequest;
+import com.darum.employee.dto.response.BulkUpdateEmployeesResponse;
+import com.darum.employee.mapper.EmployeeMapper;
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.model.Status;
+import com.darum.employee.outbox.OutboxWriter;
+import com.darum.employee.readmodel.DepartmentDirectory;
+import com.darum.employee.repositories.EmployeeBatchRepository;
+import com.darum.employee.repositories.EmployeeBatchRepository.UpdatedEmployee;
+import com.darum.employee.repositories.EmployeeRepository;
+import com.darum.employee.security.PrincipalResolver;
+import com.darum.shared.dto.Roles;
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.event.EmployeesBulkUpdatedEvent;
+import com.darum.shared.exceptions.UnauthorizedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Status and department changes for many employees at once. Each chunk of {@code employee.bulk.chunk-size}
+ * codes is one set-based UPDATE plus one {@link EmployeesBulkUpdatedEvent}; the whole request commits or
+ * rolls back as one transaction.
+ */
+@Slf4j
+@Service
+public class BulkUpdateService {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeBatchRepository employeeBatchRepository;
+    private final EmployeeMapper employeeMapper;
+    private final PrincipalResolver principalResolver;
+    private final UserLookupCache userLookupCache;
+    private final DepartmentDirectory departmentDirectory;
+    private final OutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final int maxRows;
+    private final int chunkSize;
+
+    public BulkUpdateService(EmployeeRepository employeeRepository,
+                             EmployeeBatchRepository employeeBatchRepository,
+                             EmployeeMapper employeeMapper,
+                             PrincipalResolver principalResolver,
+                             UserLookupCache userLookupCache,
+                             DepartmentDirectory departmentDirectory,
+                             OutboxWriter outboxWriter,
+                             TransactionalOperator transactionalOperator,
+                             @Value("${employee.bulk.max-rows:10000}") int maxRows,
+                             @Value("${employee.bulk.chunk-size:500}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.employeeBatchRepository = employeeBatchRepository;
+        this.employeeMapper = employeeMapper;
+        this.principalResolver = principalResolver;
+        this.userLookupCache = userLookupCache;
+        this.departmentDirectory = departmentDirectory;
+        this.outboxWriter = outboxWriter;
+        this.transactionalOperator = transactionalOperator;
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+    }
+
+    public Mono<BulkUpdateEmployeesResponse> updateStatus(String token, BulkUpdateStatusRequest updateRequest, ServerHttpRequest request) {
+        Status status = convertToStatus(updateRequest.getStatus());
+        if (status == null) {
+            return Mono.error(new IllegalArgumentException("Invalid status: " + updateRequest.getStatus() +
+                    ". Valid statuses: " + Arrays.toString(Status.values())));
+        }
+        List<String> codes = distinctCodes(updateRequest.getEmployeeCodes());
+        if (codes.isEmpty() || codes.size() > maxRows) {
+            return Mono.error(new RuntimeException("Validation failed: between 1 and " + maxRows + " employee codes per bulk update"));
+        }
+
+        return principalResolver.resolve(token, request)
+                .flatMap(currentUser -> {
+                    if (!hasAdminPrivileges(currentUser.getRoles())) {
+                        return Mono.error(new UnauthorizedException("Access denied: Admin"));
+                    }
+                    log.info("🔄 Bulk status update of {} employees to {}, requested by: {}", codes.size(), status, currentUser.getEmail());
+                    return deniedCodes(currentUser, codes, token)
+                            .flatMap(denied -> apply(codes, denied, EmployeesBulkUpdatedEvent.FIELD_STATUS, status.name(),
+                                    currentUser.getEmail(),
+                                    (chunk, now) -> employeeBatchRepository.updateStatus(chunk, status, now)));
+                });
+    }
+
+    public Mono<BulkUpdateEmployeesResponse> updateDepartment(String token, BulkUpdateDepartmentRequest updateRequest, ServerHttpRequest request) {
+        Optional<Department> department = Department.fromString(updateRequest.getDepartment());
+        if (department.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Invalid department: " + updateRequest.getDepartment() +
+                    ". Valid departments: " + Arrays.toString(Department.values())));
+        }
+        List<String> codes = distinctCodes(updateRequest.getEmployeeCodes());
+        if (codes.isEmpty() || codes.size() > maxRows) {
+            return Mono.error(new RuntimeException("Validation failed: between 1 and " + maxRows + " employee codes per bulk update"));
+        }
+
+        return principalResolver.resolve(token, request)
+                .flatMap(currentUser -> {
+                    if (!hasAdminPrivileges(currentUser.getRoles())) {
+                        return Mono.error(new UnauthorizedException("Access denied"));
+                    }
+                    log.info("🔄 Bulk department update of {} employees to {}, requested by: {}", codes.size(), department.get(), currentUser.getEmail());
+                    return apply(codes, Set.of(), EmployeesBulkUpdatedEvent.FIELD_DEPARTMENT, department.get().name(),
+                            currentUser.getEmail(),
+                            (chunk, now) -> employeeBatchRepository.updateDepartment(chunk, department.get(), now));
+                });
+    }
+
+    private Mono<BulkUpdateEmployeesResponse> apply(List<String> codes, Set<String> denied, String field, String newValue, String updatedBy,
+                                                    BiFunction<List<String>, LocalDateTime, Flux<UpdatedEmployee>> update) {
+        List<String> allowed = codes.stream().filter(code -> !denied.contains(code)).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        Mono<List<UpdatedEmployee>> updated = Flux.fromIterable(allowed)
+                .buffer(chunkSize)
+                .concatMap(chunk -> update.apply(chunk, now)
+                        .collectList()
+                        .flatMap(rows -> rows.isEmpty()
+                                ? Mono.just(rows)
+                                : outboxWriter.append(EmployeesBulkUpdatedEvent.TOPIC, updatedBy,
+                                        toEvent(field, newValue, updatedBy, now, rows)).thenReturn(rows)))
+                .collectList()
+                .map(chunks -> chunks.stream().flatMap(List::stream).toList());
+
+        return transactionalOperator.transactional(updated)
+                .map(rows -> {
+                    Set<String> changed = new HashSet<>();
+                    List<Employee> employees = new ArrayList<>(rows.size());
+                    for (UpdatedEmployee row : rows) {
+                        departmentDirectory.apply(row.employee());
+                        changed.add(row.employee().getEmployeeCode());
+                        employees.add(row.employee());
+                    }
+                    List<String> skipped = allowed.stream().filter(code -> !changed.contains(code)).toList();
+                    log.info("✅ Bulk {} update to {}: {} updated, {} skipped, {} denied",
+                            field.toLowerCase(), newValue, employees.size(), skipped.size(), denied.size());
+                    return new BulkUpdateEmployeesResponse(codes.size(), employees.size(),
+                            employees.stream().map(employeeMapper::toResponse).toList(),
+                            skipped, codes.stream().filter(denied::contains).toList());
+                });
+    }
+
+    // Same rule as the single status update: SuperAdmin may change anyone, Admin neither themselves nor other admins
+    private Mono<Set<String>> deniedCodes(UserResponse currentUser, List<String> codes, String token) {
+        if (currentUser.getRoles().contains(Roles.SUPERADMIN)) {
+            return Mono.just(Set.of());
+        }
+        return Flux.fromIterable(codes)
+                .buffer(chunkSize)
+                .concatMap(employeeRepository::findByEmployeeCodeIn)
+                .collectList()
+                .flatMap(employees -> userLookupCache.getByEmails(employees.stream().map(Employee::getEmail).toList(), token)
+                        // If we can't check, deny access
+                        .onErrorResume(e -> Mono.just(Map.of()))
+                        .map(users -> {
+                            Set<String> denied = new HashSet<>();
+                            for (Employee employee : employees) {
+                                UserResponse target = users.get(employee.getEmail());
+                                boolean targetIsAdmin = target == null || target.getRoles().contains(Roles.ADMIN)
+                                        || target.getRoles().contains(Roles.SUPERADMIN);
+                                if (targetIsAdmin || currentUser.getEmail().equals(employee.getEmail())) {
+                                    denied.add(employee.getEmployeeCode());
+                                }
+                            }
+                            return denied;
+                        }));
+    }
+
+    private EmployeesBulkUpdatedEvent toEvent(String field, String newValue, String updatedBy, LocalDateTime updatedAt, List<UpdatedEmployee> rows) {
+        List<EmployeesBulkUpdatedEvent.Change> changes = rows.stream()
+                .map(row -> new EmployeesBulkUpdatedEvent.Change(row.employee().getEmployeeCode(), row.employee().getEmail(), row.oldValue()))
+                .toList();
+        return new EmployeesBulkUpdatedEvent(field, newValue, updatedBy, updatedAt, changes);
+    }
+
+    private static List<String> distinctCodes(List<String> codes) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (codes != null) {
+            codes.stream().filter(code -> code != null && !code.isBlank()).map(String::trim).forEach(distinct::add);
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    private Status convertToStatus(String status) {
+        try {
+            return Status.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ Invalid status provided: {}", status);
+            return null;
+        }
+    }
+
+    private boolean hasAdminPrivileges(List<String> roles) {
+        return roles.contains(Roles.ADMIN) || roles.contains(Roles.SUPERADMIN);
+    }
+}
@@ -3,20 +3,19 @@ package com.darum.employee.service;
 import com.darum.employee.dto.request.UpdateDepartmentRequest;
 import com.darum.employee.dto.response.EmployeeResponse;
 import com.darum.employee.exception.EmployeeNotFoundException;
+import com.darum.employee.mapper.EmployeeMapper;
 import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.readmodel.DepartmentDirectory;
 import com.darum.employee.repositories.EmployeeRepository;
+import com.darum.employee.security.PrincipalResolver;
 import com.darum.shared.dto.Roles;
-import com.darum.shared.dto.response.UserResponse;
 import com.darum.shared.exceptions.UnauthorizedException;
-import com.darum.shared.security.SecurityConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -28,25 +27,17 @@ import java.util.Arrays;
 @RequiredArgsConstructor
 public class DepartmentService {
     private final EmployeeRepository employeeRepository;
-    private final WebClient authWebClient;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
+    private final PrincipalResolver principalResolver;
+    private final DepartmentDirectory departmentDirectory;
+    private final TransactionalOperator transactionalOperator;
 
     public Flux<Department> getAllDepartments(String token, ServerHttpRequest request) {
-        String userId = request.getHeaders().getFirst("X-User-Id");
         String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
 
         log.info("🔍 Fetching all departments, requested by: {}", userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMapMany(currentUser -> {
                     // Anyone who is authenticated can view departments
                     return Flux.fromArray(Department.values());
@@ -57,24 +48,13 @@ public class DepartmentService {
 
     // Add this method to your existing EmployeeService class
 
-    @Transactional
     public Mono<EmployeeResponse> updateEmployeeDepartment(String token, UpdateDepartmentRequest updateRequest, ServerHttpRequest serverRequest) {
-        String userId = serverRequest.getHeaders().getFirst("X-User-Id");
         String userEmail = serverRequest.getHeaders().getFirst("X-User-Email");
-        String userRoles = serverRequest.getHeaders().getFirst("X-User-Roles");
 
         log.info("🔍 Updating employee department - Employee: {}, New Department: {}, requested by: {}",
                 updateRequest.getEmployeeCode(), updateRequest.getDepartment(), userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, serverRequest)
                 .flatMap(currentUser -> {
                     // Only Admin and SuperAdmin can update departments
                     if (!hasDepartmentUpdatePrivileges(currentUser.getRoles())) {
@@ -89,7 +69,7 @@ public class DepartmentService {
                                 ". Valid departments: " + Arrays.toString(Department.values())));
                     }
 
-                    return employeeRepository.findByEmployeeCode(updateRequest.getEmployeeCode())
+                    Mono<Employee> update = employeeRepository.findByEmployeeCode(updateRequest.getEmployeeCode())
                             .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with code: " + updateRequest.getEmployeeCode())))
                             .flatMap(employee -> {
                                 Department oldDepartment = employee.getDepartment();
@@ -99,11 +79,14 @@ public class DepartmentService {
                                 log.info("🔄 Updating employee {} department from {} to {}",
                                         employee.getEmail(), oldDepartment, newDepartment);
 
-                                return employeeRepository.save(employee)
-                                        .doOnSuccess(updated -> log.info("✅ Successfully updated employee {} department to {}",
-                                                updated.getEmail(), updated.getDepartment()));
-                            })
-                            .map(updatedEmployee -> modelMapper.map(updatedEmployee, EmployeeResponse.class));
+                                return employeeRepository.save(employee);
+                            });
+                    // The read model is only updated once the move has committed
+                    return transactionalOperator.transactional(update)
+                            .doOnNext(departmentDirectory::apply)
+                            .doOnSuccess(updated -> log.info("✅ Successfully updated employee {} department to {}",
+                                    updated.getEmail(), updated.getDepartment()))
+                            .map(updatedEmployee -> employeeMapper.toResponse(updatedEmployee));
                 });
     }
 
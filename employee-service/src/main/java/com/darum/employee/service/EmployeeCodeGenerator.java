@@ -0,0 +1,136 @@
+package com.darum.employee.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Issues employee codes of the form {@code EMP-XXXXXXX}: 7 Crockford base32 characters encoding a
+ * 35-bit value. Values are reserved from the {@code employee_code_seq} sequence in blocks of
+ * {@value #BLOCK_SIZE} and handed out from memory with a single atomic increment, so codes are
+ * unique across every replica without retries or a shared lock.
+ *
+ * Each value is passed through a fixed bijection of the 35-bit space before encoding, so consecutive
+ * codes do not look sequential. Codes from the old 6-character format can never collide with these.
+ */
+@Slf4j
+@Component
+public class EmployeeCodeGenerator {
+    // Must match INCREMENT BY of employee_code_seq (V4 migration)
+    static final int BLOCK_SIZE = 1000;
+    private static final String PREFIX = "EMP-";
+    private static final int CODE_LENGTH = 7;
+    private static final long MASK = (1L << 35) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final Supplier<Mono<Long>> reserveBlock;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    // Non-null while a block is being reserved; callers that run dry meanwhile wait on it
+    private final AtomicReference<CompletableFuture<Block>> refilling = new AtomicReference<>();
+
+    @Autowired
+    public EmployeeCodeGenerator(DatabaseClient databaseClient) {
+        this(() -> databaseClient.sql("SELECT nextval('employee_code_seq') AS block_start")
+                .map(row -> row.get("block_start", Long.class))
+                .one());
+    }
+
+    EmployeeCodeGenerator(Supplier<Mono<Long>> reserveBlock) {
+        this.reserveBlock = reserveBlock;
+    }
+
+    public Mono<String> next() {
+        return Mono.defer(() -> {
+            Block block = current.get();
+            long value = block.take();
+            return value >= 0 ? Mono.just(encode(value)) : refill(block).then(next());
+        });
+    }
+
+    // Codes for a bulk insert; almost always served from the current block without touching the database
+    public Mono<List<String>> next(int count) {
+        return Flux.range(0, count)
+                .concatMap(i -> next())
+                .collectList();
+    }
+
+    private Mono<Block> refill(Block exhausted) {
+        return Mono.defer(() -> {
+            Block installed = current.get();
+            if (installed != exhausted) {
+                return Mono.just(installed);
+            }
+            CompletableFuture<Block> pending = refilling.get();
+            if (pending != null) {
+                return Mono.fromFuture(pending, true);
+            }
+            CompletableFuture<Block> mine = new CompletableFuture<>();
+            if (!refilling.compareAndSet(null, mine)) {
+                return refill(exhausted);
+            }
+            // A refill may have installed its block and cleared the marker since the first check
+            Block latest = current.get();
+            if (latest != exhausted) {
+                refilling.set(null);
+                mine.complete(latest);
+                return Mono.just(latest);
+            }
+            reserveBlock.get()
+                    .map(start -> new Block(start, start + BLOCK_SIZE))
+                    .subscribe(block -> {
+                        // Install before clearing, so whoever sees no refill in flight also sees the new block
+                        current.set(block);
+                        refilling.set(null);
+                        mine.complete(block);
+                    }, error -> {
+                        refilling.set(null);
+                        log.error("❌ Failed to reserve employee code block: {}", error.getMessage());
+                        mine.completeExceptionally(error);
+                    });
+            return Mono.fromFuture(mine, true);
+        });
+    }
+
+    static String encode(long value) {
+        long scrambled = scramble(value);
+        char[] code = new char[PREFIX.length() + CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+        for (int i = code.length - 1; i >= PREFIX.length(); i--) {
+            code[i] = ALPHABET[(int) (scrambled & 31)];
+            scrambled >>>= 5;
+        }
+        return new String(code);
+    }
+
+    // Odd multipliers and an xorshift are each invertible modulo 2^35, so distinct values stay distinct
+    private static long scramble(long value) {
+        long x = (value * 0x5DEECE66DL) & MASK;
+        x ^= x >>> 17;
+        return (x * 0x2545F491L) & MASK;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        // Next value of the block, or -1 once it is used up
+        private long take() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+    }
+}
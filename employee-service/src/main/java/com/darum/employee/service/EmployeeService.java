@@ -3,20 +3,18 @@ package com.darum.employee.service;
 import com.darum.employee.dto.request.GetEmployeeRequest;
 import com.darum.employee.dto.response.EmployeeResponse;
 import com.darum.employee.exception.EmployeeNotFoundException;
+import com.darum.employee.mapper.EmployeeMapper;
 import com.darum.employee.model.Department;
 import com.darum.employee.model.Employee;
 import com.darum.employee.repositories.EmployeeRepository;
+import com.darum.employee.security.PrincipalResolver;
 import com.darum.shared.dto.Roles;
 import com.darum.shared.dto.response.UserResponse;
 import com.darum.shared.exceptions.UnauthorizedException;
-import com.darum.shared.security.SecurityConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -25,29 +23,18 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class EmployeeService {
     private final EmployeeRepository employeeRepository;
-    private final WebClient authWebClient;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
+    private final PrincipalResolver principalResolver;
 
     // GET /employees/specific - Get employee by employeeCode only
     public Mono<EmployeeResponse> getEmployeeByCode(String token, GetEmployeeRequest request, ServerHttpRequest serverRequest) {
 
-        String userId = serverRequest.getHeaders().getFirst("X-User-Id");
         String userEmail = serverRequest.getHeaders().getFirst("X-User-Email");
-        String userRoles = serverRequest.getHeaders().getFirst("X-User-Roles");
-
 
         log.info("🔍 Fetching employee by code: {}, requested by: {}",
                 request.getEmployeeCode(), userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, serverRequest)
                 .flatMap(currentUser -> {
                     // Only Admin, SuperAdmin, and Manager can access this endpoint
                     if (!hasEmployeeViewPrivileges(currentUser.getRoles())) {
@@ -62,7 +49,7 @@ public class EmployeeService {
                                             .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with code: " + request.getEmployeeCode())))
                                             .flatMap(targetEmployee ->
                                                     checkManagerDepartmentAccess(currentUser, currentEmployee, targetEmployee)
-                                                            .thenReturn(modelMapper.map(targetEmployee, EmployeeResponse.class))
+                                                            .thenReturn(employeeMapper.toResponse(targetEmployee))
                                             )
                             );
                 });
@@ -71,24 +58,14 @@ public class EmployeeService {
     // GET /employees/me - View own details (uses logged-in user's email)
     public Mono<EmployeeResponse> getMyDetails(String token, ServerHttpRequest request) {
         String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
-        String userId = request.getHeaders().getFirst("X-User-Id");
 
         log.info("🔍 Employee requesting own details: {}", userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMap(currentUser ->
                         employeeRepository.findByEmail(currentUser.getEmail())
                                 .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee record not found for: " + currentUser.getEmail())))
-                                .map(employee -> modelMapper.map(employee, EmployeeResponse.class))
+                                .map(employee -> employeeMapper.toResponse(employee))
                 );
     }
 
@@ -1,28 +1,33 @@
 package com.darum.employee.service;
 
+import com.darum.employee.client.UserLookupCache;
 import com.darum.employee.dto.request.DemoteManagerRequest;
 import com.darum.employee.dto.request.PromoteToManagerRequest;
 import com.darum.employee.dto.response.EmployeeDepartmentResponse;
 import com.darum.employee.dto.response.EmployeeResponse;
 import com.darum.employee.exception.DepartmentNotFoundException;
 import com.darum.employee.exception.EmployeeNotFoundException;
+import com.darum.employee.mapper.EmployeeMapper;
 import com.darum.employee.model.Department;
 import com.darum.employee.model.Employee;
+import com.darum.employee.outbox.OutboxWriter;
+import com.darum.employee.readmodel.DepartmentDirectory;
 import com.darum.employee.repositories.EmployeeRepository;
+import com.darum.employee.security.PrincipalResolver;
 import com.darum.shared.dto.Roles;
 import com.darum.shared.dto.request.AddRoleRequest;
 import com.darum.shared.dto.response.ApiResponse;
 import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.event.RoleChangedEvent;
 import com.darum.shared.exceptions.UnauthorizedException;
 import com.darum.shared.security.SecurityConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -33,27 +38,21 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class ManagerService {
     private final WebClient authWebClient;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
     private final EmployeeRepository employeeRepository;
+    private final PrincipalResolver principalResolver;
+    private final UserLookupCache userLookupCache;
+    private final DepartmentDirectory departmentDirectory;
+    private final OutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
 
-    @Transactional
     public Mono<EmployeeResponse> promoteToManager(String token, PromoteToManagerRequest promoteRequest, ServerHttpRequest request) {
         // Get headers from gateway
-        String userId = request.getHeaders().getFirst("X-User-Id");
         String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
 
         log.info("🔍 Promoting user to manager: {}, requested by: {}", promoteRequest.getEmail(), userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMap(adminUser -> {
                     // Check if user has Admin or SuperAdmin privileges
                     if (!hasAdminPrivileges(adminUser.getRoles())) {
@@ -71,10 +70,6 @@ public class ManagerService {
     private Mono<EmployeeResponse> processManagerPromotion(PromoteToManagerRequest promoteRequest,
                                                            String token, ServerHttpRequest request,
                                                            UserResponse adminUser) {
-        String userId = request.getHeaders().getFirst("X-User-Id");
-        String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
-
         // Convert string department to enum
         Department department = convertToDepartment(promoteRequest.getDepartment());
         if (department == null) {
@@ -86,25 +81,16 @@ public class ManagerService {
                 .flatMap(targetEmployee -> {
                     log.info("🔍 Found employee: {} for department: {}", targetEmployee.getEmail(), department);
 
-                    return authWebClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path("/auth/user/email")
-                                    .queryParam("email", promoteRequest.getEmail())
-                                    .build())
-                            .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                            .header("X-User-Id", userId)
-                            .header("X-User-Email", userEmail)
-                            .header("X-User-Roles", userRoles)
-                            .retrieve()
-                            .bodyToMono(UserResponse.class)
+                    return userLookupCache.getByEmail(promoteRequest.getEmail(), token)
                             .onErrorResume(e -> Mono.error(new EmployeeNotFoundException("User not found with email: " + promoteRequest.getEmail())))
                             .flatMap(targetUser -> {
                                 // Add MANAGER role via Auth Service
                                 return addManagerRoleToUser(targetUser.getId(), token, request)
-                                        .then(updateEmployeeAsManager(targetEmployee, department))
+                                        .doOnSuccess(ignored -> userLookupCache.invalidate(targetUser.getEmail()))
+                                        .then(updateEmployeeAsManager(targetEmployee, department, adminUser.getEmail()))
                                         .then(getUpdatedUser(targetUser.getEmail(), token, request)) // ← Get user with new ro
                                         .map(updatedUser -> { // ← Use the UPDATED user here
-                                            EmployeeResponse response = modelMapper.map(targetEmployee, EmployeeResponse.class);
+                                            EmployeeResponse response = employeeMapper.toResponse(targetEmployee);
                                             log.info("✅ Final roles after promotion: {}", updatedUser.getRoles());
                                             return response;
                                         });
@@ -151,51 +137,32 @@ public class ManagerService {
                 .doOnError(error -> log.error("❌ Failed to add MANAGER role: {}", error.getMessage()));
     }
 
-    private Mono<Employee> updateEmployeeAsManager(Employee employee, Department department) {
+    private Mono<Employee> updateEmployeeAsManager(Employee employee, Department department, String performedBy) {
         employee.setDepartment(department);
         employee.setUpdatedAt(LocalDateTime.now());
 
-        return employeeRepository.save(employee)
+        // Only the save and its outbox row share a transaction; the role change in auth-service is a remote call
+        Mono<Employee> update = employeeRepository.save(employee)
+                .flatMap(updated -> outboxWriter.append(RoleChangedEvent.TOPIC, updated.getEmail(),
+                                new RoleChangedEvent(updated.getEmail(), "PROMOTED", Roles.MANAGER, performedBy, updated.getUpdatedAt()))
+                        .thenReturn(updated));
+        return transactionalOperator.transactional(update)
+                .doOnNext(departmentDirectory::apply)
                 .doOnSuccess(updated -> log.info("✅ Updated employee as manager: {}", updated.getEmail()));
     }
     private Mono<UserResponse> getUpdatedUser(String userEmail, String token, ServerHttpRequest request) {
-
-        String requestUserId = request.getHeaders().getFirst("X-User-Id");
-        String adminEmail = request.getHeaders().getFirst("X-User-Email");
-        String adminRoles = request.getHeaders().getFirst("X-User-Roles");
-
         // Get user by email (same as your earlier approach)
-        return authWebClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/auth/user/email")
-                        .queryParam("email", userEmail)
-                        .build())
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", requestUserId)
-                .header("X-User-Email", adminEmail)
-                .header("X-User-Roles", adminRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
+        return userLookupCache.getByEmail(userEmail, token)
                 .doOnSuccess(user -> log.info("🔍 Retrieved updated user with roles: {}", user.getRoles()));
     }
 
     public Flux<EmployeeDepartmentResponse> getEmployeesInMyDepartment(String token, ServerHttpRequest request) {
         // Get headers from gateway
-        String userId = request.getHeaders().getFirst("X-User-Id");
         String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
 
         log.info("🔍 User requesting employees in their department: {}", userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMapMany(currentUser -> {
                     // Check if user has Manager, Admin, or SuperAdmin privileges
                     if (!hasManagerOrAdminPrivileges(currentUser.getRoles())) {
@@ -204,15 +171,13 @@ public class ManagerService {
                     }
 
                     // First, check if user has an employee record (regardless of role)
-                    return employeeRepository.findByEmail(currentUser.getEmail())
-                            .flatMapMany(userEmployee -> {
+                    return findDepartmentOf(currentUser.getEmail())
+                            .flatMapMany(userDepartment -> {
                                 // User has employee record - show their ACTUAL department
-                                Department userDepartment = userEmployee.getDepartment();
                                 log.info("👤 {} (with employee record) viewing department: {}",
                                         currentUser.getEmail(), userDepartment);
 
-                                return employeeRepository.findByDepartment(userDepartment)
-                                        .map(employee -> modelMapper.map(employee, EmployeeDepartmentResponse.class))
+                                return findEmployeesIn(userDepartment)
                                         .doOnNext(emp -> log.debug("📋 Found employee: {} in department: {}",
                                                 emp.getEmail(), emp.getDepartment()));
                             })
@@ -221,8 +186,7 @@ public class ManagerService {
                                 if (currentUser.getRoles().contains(Roles.SUPERADMIN)) {
                                     log.info("👑 SuperAdmin {} (no employee record) viewing default OPERATIONS department",
                                             currentUser.getEmail());
-                                    return employeeRepository.findByDepartment(Department.OPERATIONS)
-                                            .map(employee -> modelMapper.map(employee, EmployeeDepartmentResponse.class));
+                                    return findEmployeesIn(Department.OPERATIONS);
                                 } else {
                                     // Regular Admin/Manager without employee record - error
                                     return Flux.error(new RuntimeException(
@@ -234,30 +198,37 @@ public class ManagerService {
 
     }
 
+    // Served from the in-memory read model once loaded, otherwise from the database
+    private Mono<Department> findDepartmentOf(String email) {
+        if (departmentDirectory.isReady()) {
+            return Mono.justOrEmpty(departmentDirectory.departmentOf(email));
+        }
+        return employeeRepository.findByEmail(email)
+                .map(Employee::getDepartment);
+    }
+
+    private Flux<EmployeeDepartmentResponse> findEmployeesIn(Department department) {
+        if (departmentDirectory.isReady()) {
+            return Flux.fromIterable(departmentDirectory.employeesIn(department))
+                    .map(employee -> employeeMapper.toDepartmentResponse(employee));
+        }
+        return employeeRepository.findByDepartment(department)
+                .map(employee -> employeeMapper.toDepartmentResponse(employee));
+    }
+
     private boolean hasManagerOrAdminPrivileges(java.util.List<String> roles) {
         return roles.contains(Roles.MANAGER) ||
                 roles.contains(Roles.ADMIN) ||
                 roles.contains(Roles.SUPERADMIN);
     }
-    @Transactional
     public Mono<EmployeeResponse> demoteManager(String token, DemoteManagerRequest demoteRequest, ServerHttpRequest request) {
         // Get headers from gateway
-        String userId = request.getHeaders().getFirst("X-User-Id");
         String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
 
         log.info("🔍 Demoting manager: {}, requested by: {}, reason: {}",
                 demoteRequest.getEmail(), userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMap(adminUser -> {
                     // Check if user has Admin or SuperAdmin privileges
                     if (!hasAdminPrivileges(adminUser.getRoles())) {
@@ -271,25 +242,11 @@ public class ManagerService {
     private Mono<EmployeeResponse> processManagerDemotion(DemoteManagerRequest demoteRequest,
                                                           String token, ServerHttpRequest request,
                                                           UserResponse adminUser) {
-        String userId = request.getHeaders().getFirst("X-User-Id");
-        String userEmail = request.getHeaders().getFirst("X-User-Email");
-        String userRoles = request.getHeaders().getFirst("X-User-Roles");
-
         return findEmployeeByEmail(demoteRequest.getEmail())
                 .flatMap(targetEmployee -> {
                     log.info("🔍 Found employee to demote: {}", targetEmployee.getEmail());
 
-                    return authWebClient.get()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path("/auth/user/email")
-                                    .queryParam("email", demoteRequest.getEmail())
-                                    .build())
-                            .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                            .header("X-User-Id", userId)
-                            .header("X-User-Email", userEmail)
-                            .header("X-User-Roles", userRoles)
-                            .retrieve()
-                            .bodyToMono(UserResponse.class)
+                    return userLookupCache.getByEmail(demoteRequest.getEmail(), token)
                             .onErrorResume(e -> Mono.error(new EmployeeNotFoundException("User not found with email: " + demoteRequest.getEmail())))
                             .flatMap(targetUser -> {
                                 // Check if user actually has MANAGER role
@@ -299,10 +256,11 @@ public class ManagerService {
 
                                 // Remove MANAGER role via Auth Service
                                 return removeManagerRoleFromUser(targetUser.getId(), token, request)
+                                        .doOnSuccess(ignored -> userLookupCache.invalidate(targetUser.getEmail()))
                                         .then(updateEmployeeAfterDemotion(targetEmployee))
                                         .then(getUpdatedUser(targetUser.getEmail(), token, request))
                                         .map(updatedUser -> {
-                                            EmployeeResponse response = modelMapper.map(targetEmployee, EmployeeResponse.class);
+                                            EmployeeResponse response = employeeMapper.toResponse(targetEmployee);
                                             log.info("✅ Final roles after demotion: {}", updatedUser.getRoles());
                                             return response;
                                         });
@@ -345,7 +303,8 @@ public class ManagerService {
 
         log.info("🔄 Updated employee after manager demotion: {}", employee.getEmail());
 
-        return employeeRepository.save(employee)
+        return transactionalOperator.transactional(employeeRepository.save(employee))
+                .doOnNext(departmentDirectory::apply)
                 .doOnSuccess(updated -> log.info("✅ Updated employee after demotion: {}", updated.getEmail()));
     }
 
@@ -1,31 +1,41 @@
 package com.darum.employee.service;
 
+import com.darum.employee.client.UserLookupCache;
 import com.darum.employee.dto.request.PromoteToAdminRequest;
 import com.darum.employee.dto.request.RemoveAdminRequest;
 import com.darum.employee.dto.response.EmployeeResponse;
+import com.darum.employee.mapper.EmployeeMapper;
+import com.darum.employee.outbox.OutboxWriter;
 import com.darum.employee.repositories.EmployeeRepository;
+import com.darum.employee.security.PrincipalResolver;
 import com.darum.shared.dto.Roles;
 import com.darum.shared.dto.request.AddRoleRequest;
 import com.darum.shared.dto.response.ApiResponse;
 import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.event.RoleChangedEvent;
 import com.darum.shared.security.SecurityConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SuperAdminService {
     private final WebClient authWebClient;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
     private final EmployeeRepository employeeRepository;
+    private final PrincipalResolver principalResolver;
+    private final UserLookupCache userLookupCache;
+    private final OutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
 
     public Mono<EmployeeResponse> promoteToAdmin(String token, PromoteToAdminRequest promoteRequest, ServerHttpRequest request) {
         // Get headers from the incoming request (from gateway)
@@ -33,17 +43,7 @@ public class SuperAdminService {
         String userEmail = request.getHeaders().getFirst("X-User-Email");
         String userRoles = request.getHeaders().getFirst("X-User-Roles");
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> {
-                    return Mono.error(new RuntimeException("Authentication failed: " + e.getMessage()));
-                })
+        return principalResolver.resolve(token, request)
                 .flatMap(superAdminUser -> {
                     // ✅ FIX: Use same format as AdminEmployeeService (without ROLE_ prefix)
                     if (!superAdminUser.getRoles().contains(Roles.SUPERADMIN)) {
@@ -57,17 +57,7 @@ public class SuperAdminService {
                                 return Mono.error(new RuntimeException("Employee not found with email: " + promoteRequest.getEmail()));
                             }))
                             .flatMap(targetEmployee -> {
-                                return authWebClient.get()
-                                        .uri(uriBuilder -> uriBuilder
-                                                .path("/auth/user/email")
-                                                .queryParam("email", promoteRequest.getEmail())
-                                                .build())
-                                        .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                                        .header("X-User-Id", userId)
-                                        .header("X-User-Email", userEmail)
-                                        .header("X-User-Roles", userRoles)
-                                        .retrieve()
-                                        .bodyToMono(UserResponse.class)
+                                return userLookupCache.getByEmail(promoteRequest.getEmail(), token)
                                         .onErrorResume(e -> {
                                             return Mono.error(new RuntimeException("User not found with email: " + promoteRequest.getEmail()));
                                         })
@@ -90,17 +80,18 @@ public class SuperAdminService {
                                                     .onErrorResume(e -> {
                                                         return Mono.error(new RuntimeException("Failed to promote user: " + e.getMessage()));
                                                     })
+                                                    .doOnSuccess(ignored -> userLookupCache.invalidate(targetUser.getEmail()))
                                                     .thenReturn(targetEmployee);
                                         });
                             })
                             .map(employee -> {
-                                return modelMapper.map(employee, EmployeeResponse.class);
+                                return employeeMapper.toResponse(employee);
                             });
                 });
     }
 
     // Add this method to your SuperAdminService class
-    @Transactional
+    // Only the outbox append runs in a transaction; the lookups and the auth-service call are remote
     public Mono<EmployeeResponse> removeAdminRole(String token, RemoveAdminRequest removeRequest, ServerHttpRequest request) {
         // Get headers from the incoming request (from gateway)
         String userId = request.getHeaders().getFirst("X-User-Id");
@@ -109,15 +100,7 @@ public class SuperAdminService {
 
         log.info("🔍 Removing ADMIN role from: {}, requested by: {}", removeRequest.getEmail(), userEmail);
 
-        return authWebClient.get()
-                .uri("/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", userRoles)
-                .retrieve()
-                .bodyToMono(UserResponse.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Authentication failed: " + e.getMessage())))
+        return principalResolver.resolve(token, request)
                 .flatMap(superAdminUser -> {
                     // Only SuperAdmin can remove admin role
                     if (!superAdminUser.getRoles().contains(Roles.SUPERADMIN)) {
@@ -128,17 +111,7 @@ public class SuperAdminService {
                             .doOnNext(employee -> log.info("🔍 Found employee: {}", employee.getEmail()))
                             .switchIfEmpty(Mono.error(new RuntimeException("Employee not found with email: " + removeRequest.getEmail())))
                             .flatMap(targetEmployee -> {
-                                return authWebClient.get()
-                                        .uri(uriBuilder -> uriBuilder
-                                                .path("/auth/user/email")
-                                                .queryParam("email", removeRequest.getEmail())
-                                                .build())
-                                        .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
-                                        .header("X-User-Id", userId)
-                                        .header("X-User-Email", userEmail)
-                                        .header("X-User-Roles", userRoles)
-                                        .retrieve()
-                                        .bodyToMono(UserResponse.class)
+                                return userLookupCache.getByEmail(removeRequest.getEmail(), token)
                                         .onErrorResume(e -> Mono.error(new RuntimeException("User not found with email: " + removeRequest.getEmail())))
                                         .flatMap(targetUser -> {
                                             // Check if user actually has ADMIN role before removing
@@ -161,10 +134,15 @@ public class SuperAdminService {
                                                     })
                                                     .bodyToMono(UserResponse.class)
                                                     .onErrorResume(e -> Mono.error(new RuntimeException("Failed to remove admin role: " + e.getMessage())))
+                                                    .doOnSuccess(ignored -> userLookupCache.invalidate(targetUser.getEmail()))
+                                                    .then(transactionalOperator.transactional(
+                                                            outboxWriter.append(RoleChangedEvent.TOPIC, targetEmployee.getEmail(),
+                                                                    new RoleChangedEvent(targetEmployee.getEmail(), "DEMOTED", Roles.ADMIN,
+                                                                            superAdminUser.getEmail(), LocalDateTime.now()))))
                                                     .thenReturn(targetEmployee);
                                         });
                             })
-                            .map(employee -> modelMapper.map(employee, EmployeeResponse.class));
+                            .map(employee -> employeeMapper.toResponse(employee));
                 });
     }
 
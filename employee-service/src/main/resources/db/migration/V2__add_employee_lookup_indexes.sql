@@ -0,0 +1,8 @@
+-- findByEmail runs on every /employees/me and manager check; one employee per email
+CREATE UNIQUE INDEX IF NOT EXISTS ux_employees_email ON employees (email);
+
+-- findByDepartment (/manager/my-department)
+CREATE INDEX IF NOT EXISTS ix_employees_departments ON employees (departments);
+
+-- Status filters (ACTIVE/INACTIVE/SUSPENDED)
+CREATE INDEX IF NOT EXISTS ix_employees_status ON employees (status);
@@ -0,0 +1,13 @@
+-- Domain events written in the same transaction as the employees change, drained to Kafka by OutboxRelay
+CREATE TABLE outbox_events (
+                               id BIGSERIAL PRIMARY KEY,
+                               topic VARCHAR(100) NOT NULL,
+                               message_key VARCHAR(150),
+                               event_type VARCHAR(200) NOT NULL,
+                               payload TEXT NOT NULL,
+                               created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                               published_at TIMESTAMP
+);
+
+-- The relay only ever scans unpublished rows in id order
+CREATE INDEX IF NOT EXISTS ix_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
@@ -0,0 +1,8 @@
+-- Employee codes are handed out in blocks of 1000 per call to nextval (see EmployeeCodeGenerator).
+-- MAXVALUE keeps the last block inside the 35 bits a 7-character code can encode.
+CREATE SEQUENCE IF NOT EXISTS employee_code_seq
+    MINVALUE 0
+    START WITH 0
+    INCREMENT BY 1000
+    MAXVALUE 34359737368
+    NO CYCLE;
@@ -0,0 +1,13 @@
+-- Failed sends are retried with backoff; rows that cannot be sent at all (or fail max-attempts times) are parked as dead
+ALTER TABLE outbox_events
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at TIMESTAMP,
+    ADD COLUMN last_error TEXT,
+    ADD COLUMN dead BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- The relay only ever scans live unpublished rows in id order
+DROP INDEX IF EXISTS ix_outbox_events_unpublished;
+CREATE INDEX IF NOT EXISTS ix_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL AND dead = FALSE;
+
+-- Retention purge of published rows
+CREATE INDEX IF NOT EXISTS ix_outbox_events_published ON outbox_events (published_at) WHERE published_at IS NOT NULL;
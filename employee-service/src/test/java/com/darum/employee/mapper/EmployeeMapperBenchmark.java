@@ -0,0 +1,77 @@
+package com.darum.employee.mapper;
+
+import com.darum.employee.dto.response.EmployeeDepartmentResponse;
+import com.darum.employee.dto.response.EmployeeResponse;
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.model.Status;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row mapping cost of the old ModelMapper path against {@link EmployeeMapper}.
+ * Run with {@code -prof gc} to compare allocation rates as well.
+ *
+ * Run {@link #main(String[])} from the IDE, or {@code org.openjdk.jmh.Main EmployeeMapperBenchmark} on the employee-service test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+    private ModelMapper modelMapper;
+    private EmployeeMapper employeeMapper;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        employeeMapper = new EmployeeMapper();
+        LocalDateTime now = LocalDateTime.now();
+        employee = new Employee(42L, "EMP-4F2K9Q", 7L, "Jane", "Doe", "jane.doe@darum.com",
+                Status.ACTIVE, Department.FINANCE, now, now);
+    }
+
+    @Benchmark
+    public EmployeeResponse modelMapperResponse() {
+        return modelMapper.map(employee, EmployeeResponse.class);
+    }
+
+    @Benchmark
+    public EmployeeResponse employeeMapperResponse() {
+        return employeeMapper.toResponse(employee);
+    }
+
+    @Benchmark
+    public EmployeeDepartmentResponse modelMapperDepartmentResponse() {
+        return modelMapper.map(employee, EmployeeDepartmentResponse.class);
+    }
+
+    @Benchmark
+    public EmployeeDepartmentResponse employeeMapperDepartmentResponse() {
+        return employeeMapper.toDepartmentResponse(employee);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
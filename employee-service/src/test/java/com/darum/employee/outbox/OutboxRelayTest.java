@@ -0,0 +1,95 @@
+package com.darum.employee.outbox;
+
+import com.darum.employee.model.OutboxEvent;
+import com.darum.employee.publisher.EventPublisher;
+import com.darum.employee.publisher.EventPublisher.SendOutcome;
+import com.darum.employee.repositories.OutboxEventRepository;
+import com.darum.shared.event.EmployeeCreatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// No database or broker: the repository and publisher are mocks and the transaction is a pass-through
+public class OutboxRelayTest {
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final EventPublisher publisher = mock(EventPublisher.class);
+    private final TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+    private final OutboxRelay relay = new OutboxRelay(repository, publisher, transactionalOperator, new ObjectMapper(),
+            true, 100, Duration.ofMillis(200), 3, Duration.ofSeconds(1), Duration.ofMinutes(5),
+            Duration.ofDays(7), Duration.ofHours(1));
+
+    @BeforeEach
+    public void setUp() {
+        when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Object>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.markPublished(any())).thenReturn(Mono.just(1));
+        when(repository.markDead(anyLong(), anyString())).thenReturn(Mono.just(1));
+        when(repository.recordFailure(anyLong(), anyString(), anyInt(), anyDouble(), anyDouble())).thenReturn(Mono.just(1));
+    }
+
+    @Test
+    public void unreadableRowIsParkedAndTheRestArePublished() {
+        when(repository.lockUnpublished(100)).thenReturn(Flux.just(
+                row(1L, EmployeeCreatedEvent.class.getName(), "{}"),
+                row(2L, EmployeeCreatedEvent.class.getName(), "not json"),
+                row(3L, "java.lang.Runtime", "{}"),
+                row(4L, EmployeeCreatedEvent.class.getName(), "{}")));
+        when(publisher.publishAllSettled(any())).thenAnswer(invocation ->
+                Flux.from(invocation.<Flux<?>>getArgument(0)).map(record -> SendOutcome.SENT));
+
+        assertEquals(4, relay.relayBatch().block());
+
+        verify(repository).markDead(eq(2L), anyString());
+        verify(repository).markDead(eq(3L), anyString());
+        verify(repository).markPublished(List.of(1L, 4L));
+    }
+
+    @Test
+    public void rejectedSendIsBackedOffWithoutFailingTheBatch() {
+        when(repository.lockUnpublished(100)).thenReturn(Flux.just(
+                row(1L, EmployeeCreatedEvent.class.getName(), "{}"),
+                row(2L, EmployeeCreatedEvent.class.getName(), "{}")));
+        when(publisher.publishAllSettled(any())).thenReturn(Flux.just(
+                new SendOutcome(new IllegalStateException("record too large")), SendOutcome.SENT));
+
+        assertEquals(2, relay.relayBatch().block());
+
+        verify(repository).recordFailure(1L, "record too large", 3, 1.0, 300.0);
+        verify(repository).markPublished(List.of(2L));
+        verify(repository, never()).markDead(anyLong(), anyString());
+    }
+
+    @Test
+    public void purgeKeepsDeletingWhileBatchesComeBackFull() {
+        when(repository.purgePublishedBefore(any(), eq(1000))).thenReturn(Mono.just(1000), Mono.just(1000), Mono.just(7));
+
+        assertEquals(2007, relay.purge().block());
+    }
+
+    private static OutboxEvent row(Long id, String eventType, String payload) {
+        OutboxEvent row = new OutboxEvent();
+        row.setId(id);
+        row.setTopic(EmployeeCreatedEvent.TOPIC);
+        row.setEventType(eventType);
+        row.setPayload(payload);
+        return row;
+    }
+}
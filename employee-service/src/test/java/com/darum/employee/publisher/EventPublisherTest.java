@@ -0,0 +1,104 @@
+package com.darum.employee.publisher;
+
+import com.darum.employee.publisher.EventPublisher.SendOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// No broker: the KafkaTemplate mock hands out futures the test completes by hand, in any order it likes
+public class EventPublisherTest {
+    private static final int MAX_IN_FLIGHT = 4;
+    private static final int RECORDS = 20;
+    private static final int REJECTED = 7;
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventPublisher publisher = new EventPublisher(kafkaTemplate, meterRegistry, MAX_IN_FLIGHT);
+
+    private final List<ProducerRecord<String, Object>> sent = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<SendResult<String, Object>>> acks = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void sendsAreBoundedByMaxInFlightAndOutcomesKeepRecordOrder() {
+        when(kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any())).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            CompletableFuture<SendResult<String, Object>> ack = new CompletableFuture<>();
+            acks.add(ack);
+            return ack;
+        });
+        List<SendOutcome> outcomes = new CopyOnWriteArrayList<>();
+        publisher.publishAllSettled(Flux.range(0, RECORDS).map(i -> new ProducerRecord<>("topic", "key-" + i, (Object) i)))
+                .subscribe(outcomes::add);
+
+        int acked = 0;
+        while (acked < RECORDS) {
+            int expectedInFlight = Math.min(MAX_IN_FLIGHT, RECORDS - acked);
+            awaitUntil(() -> unacked().size() == expectedInFlight);
+            // Give the publisher a chance to overshoot the limit before checking it
+            sleep(20);
+            assertEquals(expectedInFlight, unacked().size());
+            assertEquals(expectedInFlight, meterRegistry.get("employee.kafka.in-flight").gauge().value());
+
+            // Ack newest first: nothing may be emitted until the oldest record of the window is acked
+            int emitted = outcomes.size();
+            List<CompletableFuture<SendResult<String, Object>>> window = unacked();
+            for (int i = window.size() - 1; i >= 0; i--) {
+                if (i == 0) {
+                    sleep(20);
+                    assertEquals(emitted, outcomes.size());
+                }
+                int index = acks.indexOf(window.get(i));
+                if (index == REJECTED) {
+                    window.get(i).completeExceptionally(new IllegalStateException("record too large"));
+                } else {
+                    window.get(i).complete(new SendResult<>(sent.get(index), null));
+                }
+            }
+            acked += window.size();
+        }
+
+        awaitUntil(() -> outcomes.size() == RECORDS);
+        assertEquals(IntStream.range(0, RECORDS).boxed().toList(), sent.stream().map(ProducerRecord::value).toList());
+        for (int i = 0; i < RECORDS; i++) {
+            assertEquals(i != REJECTED, outcomes.get(i).isSent(), "outcome " + i);
+        }
+        assertEquals(0.0, meterRegistry.get("employee.kafka.in-flight").gauge().value());
+    }
+
+    private List<CompletableFuture<SendResult<String, Object>>> unacked() {
+        return acks.stream().filter(ack -> !ack.isDone()).toList();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            sleep(1);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.darum.employee.readmodel;
+
+import com.darum.employee.dto.response.ReadModelConsistencyResponse;
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.model.Status;
+import com.darum.employee.repositories.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// No database: findAll is stubbed, or driven by a sink to interleave saves with a rebuild
+public class DepartmentDirectoryTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final DepartmentDirectory directory = new DepartmentDirectory(employeeRepository, true);
+
+    @Test
+    public void savesAppliedDuringRebuildAreReplayedOntoTheNewSnapshot() {
+        Sinks.Many<Employee> table = Sinks.many().unicast().onBackpressureBuffer();
+        when(employeeRepository.findAll()).thenReturn(table.asFlux());
+
+        List<Integer> loaded = new ArrayList<>();
+        directory.rebuild().subscribe(loaded::add);
+        assertFalse(directory.isReady());
+
+        // Saved while the table is being read: the rebuild may or may not see these rows
+        directory.apply(employee(1L, "a@darum.com", Department.HR, T0.plusMinutes(5)));
+        directory.apply(employee(3L, "c@darum.com", Department.SALES, T0.plusMinutes(5)));
+
+        // The scan read employee 1 before it was moved, and never saw employee 3
+        table.tryEmitNext(employee(1L, "a@darum.com", Department.IT, T0));
+        table.tryEmitNext(employee(2L, "b@darum.com", Department.IT, T0));
+        table.tryEmitComplete();
+
+        assertEquals(List.of(3), loaded);
+        assertEquals(Optional.of(Department.HR), directory.departmentOf("a@darum.com"));
+        assertEquals(Optional.of(Department.SALES), directory.departmentOf("c@darum.com"));
+        assertEquals(List.of(2L), ids(directory.employeesIn(Department.IT)));
+    }
+
+    @Test
+    public void departmentMoveLeavesTheOldDepartment() {
+        load(employee(1L, "a@darum.com", Department.IT, T0), employee(2L, "b@darum.com", Department.IT, T0));
+
+        directory.apply(employee(1L, "a@darum.com", Department.FINANCE, T0.plusMinutes(1)));
+
+        assertEquals(List.of(2L), ids(directory.employeesIn(Department.IT)));
+        assertEquals(List.of(1L), ids(directory.employeesIn(Department.FINANCE)));
+        assertEquals(Optional.of(Department.FINANCE), directory.departmentOf("a@darum.com"));
+    }
+
+    @Test
+    public void olderCopyDoesNotOverwriteANewerOne() {
+        load(employee(1L, "a@darum.com", Department.HR, T0.plusMinutes(5)));
+
+        directory.apply(employee(1L, "a@darum.com", Department.IT, T0));
+
+        assertEquals(Optional.of(Department.HR), directory.departmentOf("a@darum.com"));
+        assertTrue(directory.employeesIn(Department.IT).isEmpty());
+    }
+
+    @Test
+    public void consistencyCheckReportsMissingStaleAndExtraRows() {
+        load(employee(1L, "a@darum.com", Department.IT, T0), employee(2L, "b@darum.com", Department.IT, T0));
+        // Employee 1 was moved and employee 3 created by another replica; employee 2 was deleted
+        when(employeeRepository.findAll()).thenReturn(Flux.just(
+                employee(1L, "a@darum.com", Department.HR, T0.plusMinutes(1)),
+                employee(3L, "c@darum.com", Department.SALES, T0)));
+
+        ReadModelConsistencyResponse report = directory.checkConsistency().block();
+
+        assertFalse(report.isConsistent());
+        assertEquals(2, report.getDatabaseCount());
+        assertEquals(2, report.getReadModelCount());
+        assertEquals(List.of("EMP-3"), report.getMissing());
+        assertEquals(List.of("EMP-1"), report.getStale());
+        assertEquals(List.of("EMP-2"), report.getExtra());
+    }
+
+    @Test
+    public void consistencyCheckPassesAfterApplyingTheSavedEntity() {
+        load(employee(1L, "a@darum.com", Department.IT, T0));
+        // Sub-microsecond precision is dropped by Postgres; the projection must still match the row read back
+        Employee saved = employee(1L, "a@darum.com", Department.HR, T0.plusNanos(1_234_567));
+        directory.apply(saved);
+        when(employeeRepository.findAll()).thenReturn(Flux.just(
+                employee(1L, "a@darum.com", Department.HR, T0.plusNanos(1_234_000))));
+
+        assertTrue(directory.checkConsistency().block().isConsistent());
+    }
+
+    @Test
+    public void secondRebuildIsRejectedWhileOneIsRunning() {
+        when(employeeRepository.findAll()).thenReturn(Sinks.many().unicast().<Employee>onBackpressureBuffer().asFlux());
+        directory.rebuild().subscribe();
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> directory.rebuild().block());
+        assertEquals("Read model rebuild already in progress", error.getMessage());
+    }
+
+    private void load(Employee... employees) {
+        when(employeeRepository.findAll()).thenReturn(Flux.just(employees));
+        assertEquals(employees.length, directory.rebuild().block());
+    }
+
+    private static List<Long> ids(List<EmployeeProjection> projections) {
+        return projections.stream().map(EmployeeProjection::getId).toList();
+    }
+
+    private static Employee employee(Long id, String email, Department department, LocalDateTime updatedAt) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeCode("EMP-" + id);
+        employee.setUserId(100 + id);
+        employee.setEmail(email);
+        employee.setFirstName("First" + id);
+        employee.setLastName("Last" + id);
+        employee.setStatus(Status.ACTIVE);
+        employee.setDepartment(department);
+        employee.setCreatedAt(T0);
+        employee.setUpdatedAt(updatedAt);
+        return employee;
+    }
+}
@@ -0,0 +1,79 @@
+package com.darum.employee.repositories;
+
+import com.darum.employee.model.Department;
+import com.darum.employee.model.Employee;
+import com.darum.employee.model.Status;
+import com.darum.employee.repositories.EmployeeBatchRepository.UpdatedEmployee;
+import io.r2dbc.spi.ConnectionFactories;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the multi-row INSERT and set-based UPDATE statements of {@link EmployeeBatchRepository}
+ * against a real PostgreSQL migrated by Flyway.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class EmployeeBatchRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static EmployeeBatchRepository repository;
+
+    @BeforeAll
+    public static void setUp() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        String url = String.format("r2dbc:postgresql://%s:%s@%s:%d/%s", postgres.getUsername(), postgres.getPassword(),
+                postgres.getHost(), postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), postgres.getDatabaseName());
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(url));
+        repository = new EmployeeBatchRepository(databaseClient, new MappingR2dbcConverter(new R2dbcMappingContext()));
+    }
+
+    @Test
+    public void insertAllSkipsRowsThatConflict() {
+        repository.insertAll(List.of(employee("EMP-INS001", 101L))).blockLast();
+
+        List<Employee> inserted = repository.insertAll(List.of(
+                employee("EMP-INS002", 101L), // user already an employee
+                employee("EMP-INS003", 102L))).collectList().block();
+
+        assertEquals(List.of(102L), inserted.stream().map(Employee::getUserId).toList());
+    }
+
+    @Test
+    public void updateStatusReturnsOldValuesAndSkipsUnchangedRows() {
+        repository.insertAll(List.of(employee("EMP-UPD001", 201L), employee("EMP-UPD002", 202L))).blockLast();
+        repository.updateStatus(List.of("EMP-UPD002"), Status.SUSPENDED, LocalDateTime.now()).blockLast();
+
+        List<UpdatedEmployee> updated = repository.updateStatus(
+                List.of("EMP-UPD001", "EMP-UPD002", "EMP-MISSING"), Status.SUSPENDED, LocalDateTime.now()).collectList().block();
+
+        assertEquals(1, updated.size());
+        assertEquals("EMP-UPD001", updated.get(0).employee().getEmployeeCode());
+        assertEquals(Status.SUSPENDED, updated.get(0).employee().getStatus());
+        assertEquals("ACTIVE", updated.get(0).oldValue());
+    }
+
+    private static Employee employee(String code, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Employee(null, code, userId, "First" + userId, "Last" + userId, "employee" + userId + "@darum.com",
+                Status.ACTIVE, Department.IT, now, now);
+    }
+}
@@ -0,0 +1,86 @@
+package com.darum.employee.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL and checks through EXPLAIN that the
+ * hot {@link EmployeeRepository} finders are served by an index rather than a sequential scan.
+ * The WHERE clauses mirror the SQL Spring Data R2DBC derives for each finder.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class EmployeeQueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    public static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO employees (employee_code, user_id, first_name, last_name, email, status, departments)
+                    SELECT 'EMP-' || g, g, 'First' || g, 'Last' || g, 'employee' || g || '@darum.com',
+                           (ARRAY['ACTIVE','INACTIVE','SUSPENDED','DELETED'])[1 + g % 4],
+                           (ARRAY['IT','HR','FINANCE','SALES','MARKETING','OPERATIONS','SUPPORT'])[1 + g % 7]
+                    FROM generate_series(1, 5000) AS g
+                    """);
+            statement.execute("ANALYZE employees");
+        }
+    }
+
+    @Test
+    public void findByEmailUsesEmailIndex() throws SQLException {
+        String plan = explain("SELECT * FROM employees WHERE employees.email = 'employee42@darum.com'");
+        assertTrue(plan.contains("ux_employees_email"), plan);
+    }
+
+    @Test
+    public void findByDepartmentUsesDepartmentsIndex() throws SQLException {
+        String plan = explain("SELECT * FROM employees WHERE employees.departments = 'FINANCE'");
+        assertTrue(plan.contains("ix_employees_departments"), plan);
+    }
+
+    @Test
+    public void statusFilterUsesStatusIndex() throws SQLException {
+        String plan = explain("SELECT * FROM employees WHERE employees.status = 'SUSPENDED'");
+        assertTrue(plan.contains("ix_employees_status"), plan);
+    }
+
+    private static String explain(String query) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // Low-cardinality columns would tip a small table to a seq scan; we only care that an index can serve the query
+            statement.execute("SET enable_seqscan = off");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            assertFalse(plan.toString().contains("Seq Scan"), plan.toString());
+            return plan.toString();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
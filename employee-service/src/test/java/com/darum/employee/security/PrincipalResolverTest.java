@@ -0,0 +1,131 @@
+package com.darum.employee.security;
+
+import com.darum.shared.dto.response.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// auth-service is replaced by an exchange function that records each /auth/me call
+public class PrincipalResolverTest {
+    private static final String TOKEN = "test-token";
+    private static final String ME_JSON = "{\"id\":42,\"email\":\"jane.doe@darum.com\",\"roles\":[\"ADMIN\"]}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ClientRequest> authCalls = new CopyOnWriteArrayList<>();
+    private final MockServerHttpRequest request = MockServerHttpRequest.get("/employees/admin/all")
+            .header("X-User-Id", "42")
+            .header("X-User-Email", "jane.doe@darum.com")
+            .header("X-User-Roles", "ADMIN")
+            .build();
+
+    @Test
+    public void claimsModeBuildsTheUserFromTheVerifiedPrincipal() {
+        PrincipalResolver resolver = resolver(PrincipalResolutionMode.CLAIMS, HttpStatus.OK);
+
+        UserResponse user = resolver.resolve(TOKEN, request)
+                .contextWrite(authenticatedAs(new AuthenticatedUser(7L, "john.roe@darum.com", List.of("EMPLOYEE", "MANAGER"))))
+                .block();
+
+        assertEquals(7L, user.getId());
+        assertEquals("john.roe@darum.com", user.getEmail());
+        assertEquals(List.of("EMPLOYEE", "MANAGER"), user.getRoles());
+        assertTrue(authCalls.isEmpty());
+        assertResolutions(1, 0, 0);
+    }
+
+    @Test
+    public void claimsModeFallsBackToAuthServiceWhenAClaimIsMissing() {
+        PrincipalResolver resolver = resolver(PrincipalResolutionMode.CLAIMS, HttpStatus.OK);
+
+        // Token without a userId claim
+        UserResponse user = resolver.resolve(TOKEN, request)
+                .contextWrite(authenticatedAs(new AuthenticatedUser(null, "jane.doe@darum.com", List.of("ADMIN"))))
+                .block();
+
+        assertEquals(42L, user.getId());
+        assertEquals(1, authCalls.size());
+        assertEquals("/auth/me", authCalls.get(0).url().getPath());
+        assertEquals("Bearer " + TOKEN, authCalls.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals("jane.doe@darum.com", authCalls.get(0).headers().getFirst("X-User-Email"));
+        assertResolutions(0, 1, 0);
+    }
+
+    @Test
+    public void claimsModeFallsBackWhenThereIsNoPrincipal() {
+        PrincipalResolver resolver = resolver(PrincipalResolutionMode.CLAIMS, HttpStatus.OK);
+
+        assertEquals(42L, resolver.resolve(TOKEN, request).block().getId());
+        assertEquals(1, authCalls.size());
+        assertResolutions(0, 1, 0);
+    }
+
+    @Test
+    public void remoteModeAlwaysCallsAuthService() {
+        PrincipalResolver resolver = resolver(PrincipalResolutionMode.REMOTE, HttpStatus.OK);
+
+        Mono<UserResponse> resolved = resolver.resolve(TOKEN, request)
+                .contextWrite(authenticatedAs(new AuthenticatedUser(7L, "john.roe@darum.com", List.of("EMPLOYEE"))));
+        // Nothing happens until subscription
+        assertResolutions(0, 0, 0);
+
+        assertEquals(42L, resolved.block().getId());
+        assertEquals(42L, resolved.block().getId());
+        assertEquals(2, authCalls.size());
+        assertResolutions(0, 0, 2);
+    }
+
+    @Test
+    public void authServiceErrorBecomesAuthenticationFailure() {
+        PrincipalResolver resolver = resolver(PrincipalResolutionMode.REMOTE, HttpStatus.UNAUTHORIZED);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> resolver.resolve(TOKEN, request).block());
+
+        assertTrue(error.getMessage().startsWith("Authentication failed: "), error.getMessage());
+    }
+
+    private PrincipalResolver resolver(PrincipalResolutionMode mode, HttpStatus status) {
+        WebClient authWebClient = WebClient.builder()
+                .baseUrl("http://auth-service")
+                .exchangeFunction(clientRequest -> {
+                    authCalls.add(clientRequest);
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(status.is2xxSuccessful() ? ME_JSON : "{}")
+                            .build());
+                })
+                .build();
+        return new PrincipalResolver(authWebClient, meterRegistry, mode);
+    }
+
+    private static Context authenticatedAs(AuthenticatedUser principal) {
+        return ReactiveSecurityContextHolder.withAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private void assertResolutions(double claims, double fallback, double remote) {
+        assertEquals(claims, resolutions("claims"));
+        assertEquals(fallback, resolutions("fallback"));
+        assertEquals(remote, resolutions("remote"));
+    }
+
+    private double resolutions(String source) {
+        return meterRegistry.get("employee.principal.resolutions").tag("source", source).counter().count();
+    }
+}
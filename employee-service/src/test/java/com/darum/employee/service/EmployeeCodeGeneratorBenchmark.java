@@ -0,0 +1,54 @@
+package com.darum.employee.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Code issue throughput of {@link EmployeeCodeGenerator} under contention, with an in-memory counter
+ * standing in for {@code employee_code_seq}, so only the block hand-out and encoding are measured.
+ *
+ * Run {@link #main(String[])} from the IDE, or {@code org.openjdk.jmh.Main EmployeeCodeGeneratorBenchmark} on the employee-service test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class EmployeeCodeGeneratorBenchmark {
+    private EmployeeCodeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        AtomicLong sequence = new AtomicLong();
+        generator = new EmployeeCodeGenerator(() -> Mono.fromCallable(() -> sequence.getAndAdd(EmployeeCodeGenerator.BLOCK_SIZE)));
+    }
+
+    @Benchmark
+    public String next() {
+        return generator.next().block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeCodeGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
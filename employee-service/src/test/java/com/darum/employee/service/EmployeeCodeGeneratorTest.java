@@ -0,0 +1,77 @@
+package com.darum.employee.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// No database: an AtomicLong stands in for employee_code_seq
+public class EmployeeCodeGeneratorTest {
+    private static final int THREADS = 8;
+    private static final int CODES_PER_THREAD = 25_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong blocksReserved = new AtomicLong();
+    private final EmployeeCodeGenerator generator = new EmployeeCodeGenerator(() -> Mono.fromCallable(() -> {
+        blocksReserved.incrementAndGet();
+        return sequence.getAndAdd(EmployeeCodeGenerator.BLOCK_SIZE);
+    }));
+
+    @Test
+    public void parallelCreationNeverRepeatsACode() throws Exception {
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> workers = IntStream.range(0, THREADS)
+                    .<Callable<Void>>mapToObj(i -> () -> {
+                        for (int n = 0; n < CODES_PER_THREAD; n++) {
+                            codes.add(generator.next().block());
+                        }
+                        return null;
+                    })
+                    .toList();
+
+            for (Future<Void> worker : executor.invokeAll(workers)) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * CODES_PER_THREAD, codes.size());
+        // Callers that run dry together share one reservation, so contention does not waste blocks
+        long minimumBlocks = (long) THREADS * CODES_PER_THREAD / EmployeeCodeGenerator.BLOCK_SIZE;
+        assertTrue(blocksReserved.get() <= minimumBlocks + 1, "reserved " + blocksReserved.get() + " blocks");
+    }
+
+    @Test
+    public void codesAreSevenCrockfordCharacters() {
+        List<String> codes = generator.next(3).block();
+
+        assertEquals(3, codes.size());
+        codes.forEach(code -> assertTrue(code.matches("EMP-[0-9A-HJKMNP-TV-Z]{7}"), code));
+    }
+
+    @Test
+    public void encodingIsOneToOneAcrossBlocks() {
+        Set<String> codes = new HashSet<>();
+        for (long value = 0; value < 5 * EmployeeCodeGenerator.BLOCK_SIZE; value++) {
+            codes.add(EmployeeCodeGenerator.encode(value));
+        }
+        codes.add(EmployeeCodeGenerator.encode((1L << 35) - 1));
+
+        assertEquals(5 * EmployeeCodeGenerator.BLOCK_SIZE + 1, codes.size());
+    }
+}
@@ -0,0 +1,99 @@
+package com.darum.notification.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.converter.BatchMessagingMessageConverter;
+import org.springframework.kafka.support.converter.ByteArrayJsonMessageConverter;
+
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${notification.consumer.max-poll-records:200}")
+    private int maxPollRecords;
+
+    @Value("${notification.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${notification.consumer.retry-attempts:2}")
+    private long retryAttempts;
+
+    @Value("${notification.consumer.retry-interval:1s}")
+    private Duration retryInterval;
+
+    @Value("${notification.consumer.dead-letter-suffix:.DLT}")
+    private String deadLetterSuffix;
+
+    @Bean
+    public ConsumerFactory<String, byte[]> notificationConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    /**
+     * Hands each poll to the listener as a {@code List} of events, converted from JSON using the
+     * element type of the listener parameter. Offsets are committed only after the listener returns.
+     * A batch whose listener throws is redelivered {@code notification.consumer.retry-attempts} times,
+     * then its records are published to {@code <topic>.DLT} and the offsets move on.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> notificationBatchListenerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(notificationConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setBatchMessageConverter(new BatchMessagingMessageConverter(new ByteArrayJsonMessageConverter()));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(notificationErrorHandler());
+        return factory;
+    }
+
+    @Bean
+    public DefaultErrorHandler notificationErrorHandler() {
+        // Partition -1 lets the producer pick one, so the dead-letter topic needs no matching partition count
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate(),
+                (record, exception) -> new TopicPartition(record.topic() + deadLetterSuffix, -1));
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(retryInterval.toMillis(), retryAttempts));
+    }
+
+    // Dead letters keep the raw key and value bytes of the failed record
+    @Bean
+    public ProducerFactory<String, byte[]> deadLetterProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        return new DefaultKafkaProducerFactory<>(props, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterKafkaTemplate() {
+        return new KafkaTemplate<>(deadLetterProducerFactory());
+    }
+}
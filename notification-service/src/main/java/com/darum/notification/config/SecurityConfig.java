@@ -41,6 +41,7 @@ public class SecurityConfig {
                         ).permitAll()
                         .pathMatchers("/employees/admin/**").hasAnyRole("ADMIN", "SUPERADMIN")
                         .pathMatchers("/employees/**").authenticated()
+                        .pathMatchers("/notifications/**").authenticated()
                         .anyExchange().permitAll()
                 )
 
@@ -0,0 +1,61 @@
+package com.darum.notification.controller;
+
+import com.darum.notification.service.NotificationService;
+import com.darum.shared.dto.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@RequestMapping("/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+    private final NotificationService notificationService;
+
+    // GET /notifications/inbox - Own notifications, newest first, with unread count (any authenticated user)
+    @GetMapping("/inbox")
+    public Mono<ResponseEntity<ApiResponse>> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> context.getAuthentication().getName())
+                .switchIfEmpty(Mono.error(new RuntimeException("Authentication failed")))
+                .flatMap(email -> {
+                    log.info("🎯 Inbox requested by: {}", email);
+                    return notificationService.getInbox(email, cursor, limit);
+                })
+                .map(inbox -> ResponseEntity.ok(new ApiResponse(true, inbox)))
+                .onErrorResume(e -> handleError(e, "Get Inbox"));
+    }
+
+    private Mono<ResponseEntity<ApiResponse>> handleError(Throwable e, String operationType) {
+        String errorMessage = e.getMessage();
+        log.error("❌ {} failed: {}", operationType, errorMessage);
+
+        HttpStatus status = determineHttpStatus(errorMessage);
+
+        return Mono.just(ResponseEntity.status(status)
+                .body(new ApiResponse(false, errorMessage)));
+    }
+
+    private HttpStatus determineHttpStatus(String errorMessage) {
+        if (errorMessage == null) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        } else if (errorMessage.contains("Authentication failed")) {
+            return HttpStatus.UNAUTHORIZED;
+        } else if (errorMessage.contains("Validation failed")) {
+            return HttpStatus.BAD_REQUEST;
+        } else {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+    }
+}
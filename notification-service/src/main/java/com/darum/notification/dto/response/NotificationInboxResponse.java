@@ -0,0 +1,21 @@
+package com.darum.notification.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationInboxResponse {
+    private List<NotificationResponse> notifications;
+    // Pass back as "cursor" to fetch the next (older) page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+    // Notifications not yet delivered (sent = false)
+    private long unreadCount;
+}
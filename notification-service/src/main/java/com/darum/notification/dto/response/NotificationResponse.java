@@ -0,0 +1,22 @@
+package com.darum.notification.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResponse {
+    private Long id;
+    private String type;
+    private String title;
+    private String message;
+    private boolean sent;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
@@ -17,11 +17,15 @@ import java.time.LocalDateTime;
 public class Notification {
     @Id
     private Long id;
-    private String type; // EMPLOYEE_CREATED, STATUS_UPDATED, ROLE_CHANGED
+    private String type; // EMPLOYEE_CREATED, STATUS_UPDATED, ROLE_CHANGED, DIGEST
     private String recipientEmail;
     private String title;
     private String message;
     private boolean sent = false;
     private LocalDateTime createdAt;
     private LocalDateTime sentAt;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private boolean dead;
 }
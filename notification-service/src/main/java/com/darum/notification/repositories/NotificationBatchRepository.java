@@ -0,0 +1,93 @@
+package com.darum.notification.repositories;
+
+import com.darum.notification.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Multi-row writes that Spring Data R2DBC cannot express: {@code saveAll} issues one INSERT per entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+    // 5 bind parameters per row, well under PostgreSQL's 65535 per statement
+    static final int MAX_ROWS_PER_INSERT = 1000;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts all notifications with one {@code INSERT ... VALUES (...), (...)} per
+     * {@value #MAX_ROWS_PER_INSERT} rows and sets their ids.
+     * The rows are leased for {@code leaseSeconds} so the retry scheduler leaves them to the caller.
+     */
+    public Mono<List<Notification>> insertAll(List<Notification> notifications, double leaseSeconds) {
+        if (notifications.size() <= MAX_ROWS_PER_INSERT) {
+            return insertChunk(notifications, leaseSeconds);
+        }
+        return Flux.fromIterable(notifications)
+                .buffer(MAX_ROWS_PER_INSERT)
+                .concatMap(chunk -> insertChunk(chunk, leaseSeconds))
+                .then(Mono.just(notifications));
+    }
+
+    private Mono<List<Notification>> insertChunk(List<Notification> notifications, double leaseSeconds) {
+        if (notifications.isEmpty()) {
+            return Mono.just(notifications);
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO notifications (type, recipient_email, title, message, sent, created_at, next_attempt_at) VALUES ");
+        for (int i = 0; i < notifications.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:type").append(i).append(", :recipient").append(i).append(", :title").append(i)
+                    .append(", :message").append(i).append(", FALSE, :createdAt").append(i)
+                    .append(", LOCALTIMESTAMP + make_interval(secs => :lease))");
+        }
+        sql.append(" RETURNING id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("lease", leaseSeconds);
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            spec = spec.bind("type" + i, notification.getType())
+                    .bind("recipient" + i, notification.getRecipientEmail())
+                    .bind("title" + i, notification.getTitle())
+                    .bind("message" + i, notification.getMessage())
+                    .bind("createdAt" + i, notification.getCreatedAt());
+        }
+
+        // PostgreSQL returns the generated ids in VALUES order
+        return spec.map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .map(ids -> {
+                    for (int i = 0; i < ids.size(); i++) {
+                        notifications.get(i).setId(ids.get(i));
+                    }
+                    return notifications;
+                });
+    }
+
+    // Depth of the live retry queue and age of its oldest row
+    public Mono<QueueStats> queueStats() {
+        return databaseClient.sql("""
+                        SELECT COUNT(*) AS depth,
+                               COALESCE(EXTRACT(EPOCH FROM LOCALTIMESTAMP - MIN(created_at)), 0)::float8 AS oldest_age_seconds
+                        FROM notifications
+                        WHERE sent = FALSE AND dead = FALSE
+                        """)
+                .map(row -> new QueueStats(
+                        row.get("depth", Long.class),
+                        row.get("oldest_age_seconds", Double.class)))
+                .one();
+    }
+
+    public record QueueStats(long depth, double oldestAgeSeconds) {
+    }
+}
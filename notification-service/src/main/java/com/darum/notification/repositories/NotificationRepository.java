@@ -1,13 +1,61 @@
 package com.darum.notification.repositories;
 
 import com.darum.notification.model.Notification;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface NotificationRepository extends R2dbcRepository<Notification, Long> {
-    Flux<Notification> findByRecipientEmail(String email);
-
     Flux<Notification> findBySentFalse();
+
+    // Inbox pages, newest first; both walk ix_notifications_inbox
+    @Query("SELECT * FROM notifications WHERE recipient_email = :email ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Notification> findInboxFirstPage(String email, int limit);
+
+    @Query("""
+            SELECT * FROM notifications
+            WHERE recipient_email = :email AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    Flux<Notification> findInboxPageBefore(String email, LocalDateTime createdAt, Long id, int limit);
+
+    // Served by the partial index ix_notifications_unread
+    Mono<Long> countByRecipientEmailAndSentFalse(String email);
+
+    @Modifying
+    @Query("UPDATE notifications SET sent = TRUE, sent_at = CURRENT_TIMESTAMP WHERE id IN (:ids)")
+    Mono<Integer> markSent(List<Long> ids);
+
+    /**
+     * Claims up to {@code limit} due rows for this replica by pushing their next attempt out by the lease;
+     * SKIP LOCKED keeps concurrent claimers from blocking on, or taking, the same rows.
+     */
+    @Query("""
+            UPDATE notifications SET next_attempt_at = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds)
+            WHERE id IN (SELECT id FROM notifications
+                         WHERE sent = FALSE AND dead = FALSE AND next_attempt_at <= LOCALTIMESTAMP
+                         ORDER BY next_attempt_at
+                         LIMIT :limit
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """)
+    Flux<Notification> claimDue(int limit, double leaseSeconds);
+
+    @Modifying
+    @Query("""
+            UPDATE notifications SET attempts = attempts + 1,
+                                     last_error = :error,
+                                     next_attempt_at = LOCALTIMESTAMP + make_interval(secs => :backoffSeconds),
+                                     dead = attempts + 1 >= :maxAttempts
+            WHERE id = :id
+            """)
+    Mono<Integer> recordFailure(Long id, String error, double backoffSeconds, int maxAttempts);
 }
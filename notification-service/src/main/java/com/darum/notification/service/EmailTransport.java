@@ -0,0 +1,15 @@
+package com.darum.notification.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Delivers a single plain-text email. Selected with {@code notification.email.transport}:
+ * {@code webclient} (default, non-blocking) or {@code sendgrid-client} (the blocking SendGrid SDK).
+ */
+public interface EmailTransport {
+
+    /**
+     * @return true if the provider accepted the message; failures are reported as false, not errors
+     */
+    Mono<Boolean> send(String to, String subject, String plainTextBody);
+}
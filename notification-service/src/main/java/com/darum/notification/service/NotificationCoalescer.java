@@ -0,0 +1,186 @@
+package com.darum.notification.service;
+
+import com.darum.notification.model.Notification;
+import com.darum.notification.repositories.NotificationBatchRepository;
+import com.darum.notification.repositories.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers notifications per recipient for {@code notification.coalesce.window} (or until
+ * {@code notification.coalesce.max-events} pile up) and sends them as one digest email, so a burst of
+ * admin changes to the same person costs one provider call instead of several. Off by default (window 0s).
+ *
+ * With {@code notification.coalesce.persist-events=true} (default) every event is stored as its own row when
+ * it arrives, leased past the window. The digest marks them all sent; if the digest fails or this instance
+ * dies first, the leases lapse and {@link NotificationRetryScheduler} delivers them individually.
+ * Without it only the digest is stored, at flush time, and events still buffered are lost on a crash.
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+    private final int maxEvents;
+    private final boolean persistEvents;
+    private final Duration lease;
+
+    private final Map<String, Buffer> pending = new ConcurrentHashMap<>();
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 NotificationBatchRepository notificationBatchRepository,
+                                 NotificationDispatcher notificationDispatcher,
+                                 EmailService emailService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.coalesce.window:0s}") Duration window,
+                                 @Value("${notification.coalesce.max-events:20}") int maxEvents,
+                                 @Value("${notification.coalesce.persist-events:true}") boolean persistEvents,
+                                 @Value("${notification.retry.lease:5m}") Duration lease) {
+        this.notificationRepository = notificationRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.emailService = emailService;
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+        this.maxEvents = maxEvents;
+        this.persistEvents = persistEvents;
+        this.lease = lease;
+    }
+
+    public boolean isEnabled() {
+        return !window.isZero();
+    }
+
+    /**
+     * Completes once the notifications are buffered (and stored, when per-event persistence is on).
+     */
+    public Mono<Void> offer(List<Notification> notifications) {
+        Mono<List<Notification>> stored = persistEvents
+                ? notificationBatchRepository.insertAll(notifications, window.plus(lease).toMillis() / 1000.0)
+                : Mono.just(notifications);
+        return stored.doOnNext(rows -> rows.forEach(this::buffer)).then();
+    }
+
+    private void buffer(Notification notification) {
+        String recipient = notification.getRecipientEmail().toLowerCase(Locale.ROOT);
+        Buffer[] opened = new Buffer[1];
+        Buffer[] full = new Buffer[1];
+
+        pending.compute(recipient, (key, buffer) -> {
+            if (buffer == null) {
+                buffer = new Buffer();
+                opened[0] = buffer;
+            }
+            buffer.items.add(notification);
+            if (buffer.items.size() >= maxEvents) {
+                full[0] = buffer;
+                return null;
+            }
+            return buffer;
+        });
+
+        if (full[0] != null) {
+            flush(full[0].items);
+        } else if (opened[0] != null) {
+            Buffer buffer = opened[0];
+            Mono.delay(window).subscribe(tick -> {
+                // Skip if the buffer was already flushed for being full
+                if (pending.remove(recipient, buffer)) {
+                    flush(buffer.items);
+                }
+            });
+        }
+    }
+
+    private void flush(List<Notification> items) {
+        send(items).subscribe(
+                sent -> { },
+                error -> log.error("❌ Failed to flush notifications for {}: {}",
+                        items.get(0).getRecipientEmail(), error.getMessage()));
+    }
+
+    private Mono<Integer> send(List<Notification> items) {
+        if (items.size() == 1) {
+            return persistEvents
+                    ? notificationDispatcher.dispatch(items)
+                    : notificationBatchRepository.insertAll(items, lease.toMillis() / 1000.0)
+                    .flatMap(notificationDispatcher::dispatch);
+        }
+
+        meterRegistry.counter("notification.coalesce.merged").increment(items.size() - 1);
+        Notification digest = toDigest(items);
+        log.info("📦 Coalesced {} notifications for {} into one email", items.size(), digest.getRecipientEmail());
+
+        if (!persistEvents) {
+            return notificationBatchRepository.insertAll(List.of(digest), lease.toMillis() / 1000.0)
+                    .flatMap(notificationDispatcher::dispatch);
+        }
+
+        // The stored per-event rows stand in for the digest: sent together, or left to the retry queue
+        List<Long> ids = items.stream().map(Notification::getId).toList();
+        return emailService.sendEmail(digest.getRecipientEmail(), digest.getTitle(), digest.getMessage())
+                .onErrorReturn(false)
+                .flatMap(sent -> {
+                    if (!sent) {
+                        log.warn("⚠️ Digest to {} failed, {} notifications fall back to the retry queue",
+                                digest.getRecipientEmail(), ids.size());
+                        return Mono.just(0);
+                    }
+                    return notificationRepository.markSent(ids).thenReturn(ids.size());
+                });
+    }
+
+    private Notification toDigest(List<Notification> items) {
+        Notification digest = new Notification();
+        digest.setType("DIGEST");
+        digest.setRecipientEmail(items.get(0).getRecipientEmail());
+        digest.setTitle(String.format("You have %d account updates", items.size()));
+        digest.setMessage(items.stream()
+                .map(item -> item.getTitle() + ": " + item.getMessage())
+                .collect(Collectors.joining("\n\n")));
+        digest.setCreatedAt(LocalDateTime.now());
+        return digest;
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        List<List<Notification>> remaining = new ArrayList<>();
+        pending.keySet().forEach(recipient -> {
+            Buffer buffer = pending.remove(recipient);
+            if (buffer != null) {
+                remaining.add(buffer.items);
+            }
+        });
+        if (remaining.isEmpty()) {
+            return;
+        }
+        log.info("Flushing {} coalesced notification buffers on shutdown", remaining.size());
+        Flux.fromIterable(remaining)
+                .flatMap(this::send)
+                .onErrorContinue((error, items) -> log.error("❌ Shutdown flush failed: {}", error.getMessage()))
+                .blockLast(Duration.ofSeconds(10));
+    }
+
+    private static final class Buffer {
+        // Only touched inside pending.compute, or after the buffer has been removed from the map
+        private final List<Notification> items = new ArrayList<>();
+    }
+}
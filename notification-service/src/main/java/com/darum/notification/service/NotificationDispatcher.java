@@ -0,0 +1,90 @@
+package com.darum.notification.service;
+
+import com.darum.notification.model.Notification;
+import com.darum.notification.repositories.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sends the emails for stored notifications and records the outcome: delivered rows are flagged sent in
+ * one update, failed rows get their attempt count bumped and are rescheduled with exponential backoff
+ * ({@code notification.retry.initial-backoff} doubling up to {@code notification.retry.max-backoff}).
+ * A row that fails {@code notification.retry.max-attempts} times is marked dead and never retried.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+    private final NotificationRepository notificationRepository;
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+    private final int emailConcurrency;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public NotificationDispatcher(NotificationRepository notificationRepository,
+                                  EmailService emailService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.email.max-concurrency:8}") int emailConcurrency,
+                                  @Value("${notification.retry.max-attempts:5}") int maxAttempts,
+                                  @Value("${notification.retry.initial-backoff:1m}") Duration initialBackoff,
+                                  @Value("${notification.retry.max-backoff:1h}") Duration maxBackoff) {
+        this.notificationRepository = notificationRepository;
+        this.emailService = emailService;
+        this.meterRegistry = meterRegistry;
+        this.emailConcurrency = emailConcurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * @return number of notifications delivered
+     */
+    public Mono<Integer> dispatch(List<Notification> notifications) {
+        return Flux.fromIterable(notifications)
+                .flatMap(notification -> emailService.sendEmail(
+                                        notification.getRecipientEmail(), notification.getTitle(), notification.getMessage())
+                                .map(sent -> sent ? "" : "Email provider did not accept the message")
+                                .onErrorResume(error -> Mono.just(String.valueOf(error.getMessage())))
+                                .flatMap(error -> error.isEmpty()
+                                        ? Mono.just(notification.getId())
+                                        : recordFailure(notification, error).then(Mono.empty())),
+                        emailConcurrency)
+                .collectList()
+                .flatMap(sentIds -> {
+                    meterRegistry.counter("notification.dispatch", "outcome", "sent").increment(sentIds.size());
+                    return sentIds.isEmpty()
+                            ? Mono.just(0)
+                            : notificationRepository.markSent(sentIds).thenReturn(sentIds.size());
+                });
+    }
+
+    private Mono<Integer> recordFailure(Notification notification, String error) {
+        int attempt = notification.getAttempts() + 1;
+        boolean dead = attempt >= maxAttempts;
+        meterRegistry.counter("notification.dispatch", "outcome", dead ? "dead" : "retry").increment();
+        if (dead) {
+            log.error("❌ Giving up on notification {} to {} after {} attempts: {}",
+                    notification.getId(), notification.getRecipientEmail(), attempt, error);
+        } else {
+            log.warn("⚠️ Notification {} to {} failed (attempt {}), will retry: {}",
+                    notification.getId(), notification.getRecipientEmail(), attempt, error);
+        }
+        return notificationRepository.recordFailure(notification.getId(), error,
+                backoffAfter(attempt).toMillis() / 1000.0, maxAttempts);
+    }
+
+    Duration backoffAfter(int attempt) {
+        // initial * 2^(attempt - 1), shift capped so it cannot overflow
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
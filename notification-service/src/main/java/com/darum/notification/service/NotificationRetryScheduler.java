@@ -0,0 +1,121 @@
+package com.darum.notification.service;
+
+import com.darum.notification.repositories.NotificationBatchRepository;
+import com.darum.notification.repositories.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Retries notifications whose email was not delivered. Every {@code notification.retry.poll-interval} it
+ * claims up to {@code notification.retry.batch-size} due rows (see {@link NotificationRepository#claimDue})
+ * and hands them to {@link NotificationDispatcher}. Claims are leases: a replica that dies mid-send
+ * releases its rows once {@code notification.retry.lease} runs out, so several replicas can share the queue.
+ *
+ * Metrics: {@code notification.queue.depth} and {@code notification.queue.oldest.age} (seconds) gauges.
+ */
+@Slf4j
+@Component
+public class NotificationRetryScheduler {
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicReference<Double> oldestAgeSeconds = new AtomicReference<>(0.0);
+    private Disposable scheduler;
+
+    public NotificationRetryScheduler(NotificationRepository notificationRepository,
+                                      NotificationBatchRepository notificationBatchRepository,
+                                      NotificationDispatcher notificationDispatcher,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notification.retry.enabled:true}") boolean enabled,
+                                      @Value("${notification.retry.batch-size:50}") int batchSize,
+                                      @Value("${notification.retry.poll-interval:30s}") Duration pollInterval,
+                                      @Value("${notification.retry.lease:5m}") Duration lease) {
+        this.notificationRepository = notificationRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        meterRegistry.gauge("notification.queue.depth", queueDepth);
+        meterRegistry.gauge("notification.queue.oldest.age", oldestAgeSeconds, AtomicReference::get);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Notification retry scheduler disabled, failed emails will not be retried");
+            return;
+        }
+        scheduler = Flux.interval(pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> retryDue().then(refreshQueueStats()), 1)
+                .subscribe();
+        log.info("✅ Notification retry scheduler started (batch size {}, every {})", batchSize, pollInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    // Keeps claiming while batches come back full
+    private Mono<Integer> retryDue() {
+        return retryBatch()
+                .expand(claimed -> claimed == batchSize ? retryBatch() : Mono.empty())
+                .reduce(0, Integer::sum)
+                .onErrorResume(error -> {
+                    log.error("❌ Notification retry batch failed: {}", error.getMessage());
+                    return Mono.just(0);
+                });
+    }
+
+    private Mono<Integer> retryBatch() {
+        return notificationRepository.claimDue(batchSize, leaseSeconds())
+                .collectList()
+                .flatMap(claimed -> {
+                    if (claimed.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    log.info("🔁 Retrying {} pending notifications", claimed.size());
+                    return notificationDispatcher.dispatch(claimed).thenReturn(claimed.size());
+                });
+    }
+
+    private Mono<Void> refreshQueueStats() {
+        return notificationBatchRepository.queueStats()
+                .doOnNext(stats -> {
+                    queueDepth.set(stats.depth());
+                    oldestAgeSeconds.set(stats.oldestAgeSeconds());
+                })
+                .onErrorResume(error -> {
+                    log.warn("⚠️ Could not refresh notification queue metrics: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private double leaseSeconds() {
+        return lease.toMillis() / 1000.0;
+    }
+}
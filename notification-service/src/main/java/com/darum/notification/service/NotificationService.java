@@ -1,109 +1,211 @@
 package com.darum.notification.service;
 
+import com.darum.notification.dto.response.NotificationInboxResponse;
+import com.darum.notification.dto.response.NotificationResponse;
 import com.darum.notification.model.Notification;
+import com.darum.notification.repositories.NotificationBatchRepository;
 import com.darum.notification.repositories.NotificationRepository;
 import com.darum.shared.event.EmployeeCreatedEvent;
 import com.darum.shared.event.EmployeeStatusUpdatedEvent;
+import com.darum.shared.event.EmployeesBulkUpdatedEvent;
 import com.darum.shared.event.RoleChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
     private final NotificationRepository notificationRepository;
-    private EmailService emailService;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationCoalescer notificationCoalescer;
 
-    @KafkaListener(topics = "employee-created", groupId = "notification-group")
-    public void handleEmployeeCreated(EmployeeCreatedEvent event) {
-        log.info("🎯 Received employee created event: {}", event.getEmail());
+    // Inserted rows are leased to this listener while it sends, so the retry scheduler skips them
+    @Value("${notification.retry.lease:5m}")
+    private Duration lease;
 
-        String title = "Welcome to the Company!";
-        String message = String.format(
-                "Hello %s %s! Your employee account has been created. " +
-                        "Your employee code is: %s and you're assigned to %s department.",
-                event.getFirstName(), event.getLastName(), event.getEmployeeCode(), event.getDepartment()
-        );
+    // Listeners block until the batch is stored and its emails are dispatched, so offsets commit only after that
+    @KafkaListener(topics = EmployeeCreatedEvent.TOPIC, groupId = "notification-group",
+            containerFactory = "notificationBatchListenerFactory")
+    public void handleEmployeeCreated(List<EmployeeCreatedEvent> events) {
+        log.info("🎯 Received {} employee created events", events.size());
 
-        createAndSendNotification(
+        processBatch(events, event -> newNotification(
                 "EMPLOYEE_CREATED",
                 event.getEmail(),
-                title,
-                message
-        ).subscribe();
+                "Welcome to the Company!",
+                String.format(
+                        "Hello %s %s! Your employee account has been created. " +
+                                "Your employee code is: %s and you're assigned to %s department.",
+                        event.getFirstName(), event.getLastName(), event.getEmployeeCode(), event.getDepartment()
+                )));
     }
 
-    @KafkaListener(topics = "employee-status-updated", groupId = "notification-group")
-    public void handleEmployeeStatusUpdated(EmployeeStatusUpdatedEvent event) {
-        log.info("🎯 Received employee status updated event: {} -> {}",
-                event.getEmail(), event.getNewStatus());
+    @KafkaListener(topics = EmployeeStatusUpdatedEvent.TOPIC, groupId = "notification-group",
+            containerFactory = "notificationBatchListenerFactory")
+    public void handleEmployeeStatusUpdated(List<EmployeeStatusUpdatedEvent> events) {
+        log.info("🎯 Received {} employee status updated events", events.size());
 
-        String title = "Account Status Updated";
-        String message = String.format(
-                "Your account status has been changed from %s to %s by %s.",
-                event.getOldStatus(), event.getNewStatus(), event.getUpdatedBy()
-        );
-
-        createAndSendNotification(
+        processBatch(events, event -> newNotification(
                 "STATUS_UPDATED",
                 event.getEmail(),
-                title,
-                message
-        ).subscribe();
+                "Account Status Updated",
+                String.format(
+                        "Your account status has been changed from %s to %s by %s.",
+                        event.getOldStatus(), event.getNewStatus(), event.getUpdatedBy()
+                )));
     }
 
-    @KafkaListener(topics = "role-changed", groupId = "notification-group")
-    public void handleRoleChanged(RoleChangedEvent event) {
-        log.info("🎯 Received role changed event: {} {} to {}",
-                event.getEmail(), event.getAction(), event.getRole());
-
-        String title = "Role Update";
-        String message = String.format(
-                "You have been %s to %s by %s.",
-                event.getAction().toLowerCase(), event.getRole(), event.getPerformedBy()
-        );
+    @KafkaListener(topics = RoleChangedEvent.TOPIC, groupId = "notification-group",
+            containerFactory = "notificationBatchListenerFactory")
+    public void handleRoleChanged(List<RoleChangedEvent> events) {
+        log.info("🎯 Received {} role changed events", events.size());
 
-        createAndSendNotification(
+        processBatch(events, event -> newNotification(
                 "ROLE_CHANGED",
                 event.getEmail(),
-                title,
-                message
-        ).subscribe();
+                "Role Update",
+                String.format(
+                        "You have been %s to %s by %s.",
+                        event.getAction().toLowerCase(), event.getRole(), event.getPerformedBy()
+                )));
+    }
+
+    // One notification per employee in each bulk-update chunk
+    @KafkaListener(topics = EmployeesBulkUpdatedEvent.TOPIC, groupId = "notification-group",
+            containerFactory = "notificationBatchListenerFactory")
+    public void handleEmployeesBulkUpdated(List<EmployeesBulkUpdatedEvent> events) {
+        log.info("🎯 Received {} employee bulk update events", events.size());
+
+        processBatchFlat(events, event -> event.getChanges().stream()
+                .map(change -> EmployeesBulkUpdatedEvent.FIELD_DEPARTMENT.equals(event.getField())
+                        ? newNotification(
+                                "DEPARTMENT_UPDATED",
+                                change.getEmail(),
+                                "Department Updated",
+                                String.format(
+                                        "You have been moved from the %s department to %s by %s.",
+                                        change.getOldValue(), event.getNewValue(), event.getUpdatedBy()))
+                        : newNotification(
+                                "STATUS_UPDATED",
+                                change.getEmail(),
+                                "Account Status Updated",
+                                String.format(
+                                        "Your account status has been changed from %s to %s by %s.",
+                                        change.getOldValue(), event.getNewValue(), event.getUpdatedBy())))
+                .toList());
     }
 
-    private Mono<Notification> createAndSendNotification(String type, String recipient, String title, String message) {
+    private <E> void processBatch(List<E> events, Function<E, Notification> toNotification) {
+        processBatchFlat(events, event -> List.of(toNotification.apply(event)));
+    }
+
+    private <E> void processBatchFlat(List<E> events, Function<E, List<Notification>> toNotifications) {
+        List<Notification> notifications = events.stream()
+                .filter(Objects::nonNull) // records that failed JSON conversion
+                .flatMap(event -> toNotifications.apply(event).stream())
+                .toList();
+
+        if (notificationCoalescer.isEnabled()) {
+            notificationCoalescer.offer(notifications).block();
+            log.info("📥 Buffered {} notifications for coalescing", notifications.size());
+            return;
+        }
+
+        Integer sent = sendBatch(notifications).block();
+        log.info("✅ Sent {} of {} notifications", sent, notifications.size());
+    }
+
+    /**
+     * Stores the notifications with one multi-row insert, then lets {@link NotificationDispatcher} send
+     * the emails; failures are left to {@link NotificationRetryScheduler}.
+     *
+     * @return number of notifications sent
+     */
+    private Mono<Integer> sendBatch(List<Notification> notifications) {
+        return notificationBatchRepository.insertAll(notifications, lease.toMillis() / 1000.0)
+                .flatMap(notificationDispatcher::dispatch);
+    }
+
+    private Notification newNotification(String type, String recipient, String title, String message) {
         Notification notification = new Notification();
         notification.setType(type);
         notification.setRecipientEmail(recipient);
         notification.setTitle(title);
         notification.setMessage(message);
         notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+
+    /**
+     * One page of the recipient's notifications, newest first, plus their unread count.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     */
+    public Mono<NotificationInboxResponse> getInbox(String email, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_INBOX_PAGE_SIZE) {
+            return Mono.error(new RuntimeException("Validation failed: limit must be between 1 and " + MAX_INBOX_PAGE_SIZE));
+        }
+
+        Flux<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findInboxFirstPage(email, limit + 1);
+        } else {
+            InboxCursor position = InboxCursor.decode(cursor);
+            if (position == null) {
+                return Mono.error(new RuntimeException("Validation failed: invalid cursor"));
+            }
+            rows = notificationRepository.findInboxPageBefore(email, position.createdAt(), position.id(), limit + 1);
+        }
+
+        return Mono.zip(rows.collectList(), notificationRepository.countByRecipientEmailAndSentFalse(email))
+                .map(result -> {
+                    List<Notification> fetched = result.getT1();
+                    boolean hasMore = fetched.size() > limit;
+                    List<Notification> page = hasMore ? fetched.subList(0, limit) : fetched;
+                    Notification last = page.isEmpty() ? null : page.get(page.size() - 1);
+                    String nextCursor = hasMore ? new InboxCursor(last.getCreatedAt(), last.getId()).encode() : null;
+                    return new NotificationInboxResponse(
+                            page.stream().map(this::toResponse).toList(), nextCursor, hasMore, result.getT2());
+                });
+    }
 
-        return notificationRepository.save(notification)
-                .flatMap(savedNotification ->
-                        emailService.sendEmail(recipient, title, message)
-                                .doOnSuccess(sent -> {
-                                    if (sent) {
-                                        savedNotification.setSent(true);
-                                        savedNotification.setSentAt(LocalDateTime.now());
-                                        notificationRepository.save(savedNotification).subscribe();
-                                        log.info("✅ Notification sent to: {}", recipient);
-                                    }
-                                })
-                                .thenReturn(savedNotification)
-                )
-                .doOnError(error -> log.error("❌ Failed to send notification to {}: {}", recipient, error.getMessage()));
+    private NotificationResponse toResponse(Notification notification) {
+        return new NotificationResponse(notification.getId(), notification.getType(), notification.getTitle(),
+                notification.getMessage(), notification.isSent(), notification.getCreatedAt(), notification.getSentAt());
     }
 
-    public Flux<Notification> getUserNotifications(String email) {
-        return notificationRepository.findByRecipientEmail(email);
+    // Opaque to clients: base64url("createdAt|id") of the last row on the page
+    private record InboxCursor(LocalDateTime createdAt, Long id) {
+        private String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static InboxCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return parts.length == 2 ? new InboxCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1])) : null;
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return null;
+            }
+        }
     }
 
     public Flux<Notification> getPendingNotifications() {
@@ -0,0 +1,64 @@
+package com.darum.notification.service;
+
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+
+// Blocking SendGrid SDK on boundedElastic: one thread per in-flight email
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.email.transport", havingValue = "sendgrid-client")
+public class SendGridClientTransport implements EmailTransport {
+    private final SendGrid sendGrid;
+
+    @Value("${sendgrid.from-email}")
+    private String fromEmail;
+
+    @Value("${sendgrid.from-name}")
+    private String fromName;
+
+    @Override
+    public Mono<Boolean> send(String to, String subject, String plainTextBody) {
+        return Mono.fromCallable(() -> {
+                    try {
+                        Mail mail = new Mail(new Email(fromEmail, fromName), subject, new Email(to),
+                                new Content("text/plain", plainTextBody));
+
+                        Request request = new Request();
+                        request.setMethod(Method.POST);
+                        request.setEndpoint("mail/send");
+                        request.setBody(mail.build());
+
+                        Response response = sendGrid.api(request);
+
+                        boolean success = response.getStatusCode() >= 200 && response.getStatusCode() < 300;
+                        if (!success) {
+                            log.error("❌ Failed to send email to: {} | Status: {} | Body: {}",
+                                    to, response.getStatusCode(), response.getBody());
+                        }
+                        return success;
+                    } catch (IOException e) {
+                        log.error("❌ IOException sending email to {}: {}", to, e.getMessage());
+                        return false;
+                    } catch (Exception e) {
+                        log.error("❌ Unexpected error sending email to {}: {}", to, e.getMessage());
+                        return false;
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
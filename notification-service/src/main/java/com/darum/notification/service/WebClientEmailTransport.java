@@ -0,0 +1,103 @@
+package com.darum.notification.service;
+
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Posts the SendGrid {@code mail/send} payload over a pooled, keep-alive {@link WebClient}, so an in-flight
+ * email holds a connection rather than a thread.
+ *
+ * The pool is the concurrency limit: at most {@code notification.email.transport.max-connections} requests run
+ * at once, up to {@code pending-acquire-max} more wait up to {@code pending-acquire-timeout} for a connection,
+ * and anything beyond that fails fast (and is retried later by the notification retry queue).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.email.transport", havingValue = "webclient", matchIfMissing = true)
+public class WebClientEmailTransport implements EmailTransport {
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final String fromEmail;
+    private final String fromName;
+
+    public WebClientEmailTransport(@Value("${sendgrid.base-url:https://api.sendgrid.com/v3}") String baseUrl,
+                                   @Value("${sendgrid.api-key}") String apiKey,
+                                   @Value("${sendgrid.from-email}") String fromEmail,
+                                   @Value("${sendgrid.from-name}") String fromName,
+                                   @Value("${notification.email.transport.max-connections:50}") int maxConnections,
+                                   @Value("${notification.email.transport.pending-acquire-max:1000}") int pendingAcquireMax,
+                                   @Value("${notification.email.transport.pending-acquire-timeout:10s}") Duration pendingAcquireTimeout,
+                                   @Value("${notification.email.transport.response-timeout:10s}") Duration responseTimeout) {
+        this.fromEmail = fromEmail;
+        this.fromName = fromName;
+        this.connectionProvider = ConnectionProvider.builder("email-transport")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                // Below the provider's idle cut-off, so we never reuse a connection it is about to close
+                .maxIdleTime(Duration.ofSeconds(50))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout);
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .build();
+    }
+
+    @Override
+    public Mono<Boolean> send(String to, String subject, String plainTextBody) {
+        return Mono.fromCallable(() -> buildPayload(to, subject, plainTextBody))
+                .flatMap(payload -> webClient.post()
+                        .uri("/mail/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(payload)
+                        .exchangeToMono(response -> {
+                            if (response.statusCode().is2xxSuccessful()) {
+                                return response.releaseBody().thenReturn(true);
+                            }
+                            return response.bodyToMono(String.class)
+                                    .defaultIfEmpty("")
+                                    .map(body -> {
+                                        log.error("❌ Failed to send email to: {} | Status: {} | Body: {}",
+                                                to, response.statusCode().value(), body);
+                                        return false;
+                                    });
+                        }))
+                .onErrorResume(error -> {
+                    log.error("❌ Error sending email to {}: {}", to, error.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    // Same JSON the SendGrid SDK posts
+    private String buildPayload(String to, String subject, String plainTextBody) throws IOException {
+        Mail mail = new Mail(new Email(fromEmail, fromName), subject, new Email(to),
+                new Content("text/plain", plainTextBody));
+        return mail.build();
+    }
+
+    @PreDestroy
+    public void dispose() {
+        connectionProvider.dispose();
+    }
+}
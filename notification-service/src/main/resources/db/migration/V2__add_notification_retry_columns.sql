@@ -0,0 +1,8 @@
+-- Retry bookkeeping for the email dispatch queue (NotificationRetryScheduler)
+ALTER TABLE notifications ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE notifications ADD COLUMN next_attempt_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+ALTER TABLE notifications ADD COLUMN last_error TEXT;
+ALTER TABLE notifications ADD COLUMN dead BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- The scheduler only scans live, unsent rows that are due
+CREATE INDEX IF NOT EXISTS ix_notifications_due ON notifications (next_attempt_at) WHERE sent = FALSE AND dead = FALSE;
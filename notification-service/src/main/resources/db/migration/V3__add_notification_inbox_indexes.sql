@@ -0,0 +1,9 @@
+-- Inbox keyset pagination: newest first per recipient
+CREATE INDEX IF NOT EXISTS ix_notifications_inbox ON notifications (recipient_email, created_at DESC, id DESC);
+
+-- Unread (not yet delivered) count per recipient touches only the small unsent slice
+CREATE INDEX IF NOT EXISTS ix_notifications_unread ON notifications (recipient_email) WHERE sent = FALSE;
+
+-- Superseded: recipient_email is the inbox index prefix, and a boolean index is never selective
+DROP INDEX IF EXISTS idx_notifications_recipient_email;
+DROP INDEX IF EXISTS idx_notifications_sent;
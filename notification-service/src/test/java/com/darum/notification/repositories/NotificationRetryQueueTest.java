@@ -0,0 +1,296 @@
+package com.darum.notification.repositories;
+
+import com.darum.notification.dto.response.NotificationInboxResponse;
+import com.darum.notification.dto.response.NotificationResponse;
+import com.darum.notification.model.Notification;
+import com.darum.notification.service.EmailService;
+import com.darum.notification.service.NotificationCoalescer;
+import com.darum.notification.service.NotificationDispatcher;
+import com.darum.notification.service.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the retry-queue statements of {@link NotificationRepository} (claim, failure, dead transition)
+ * and the inbox keyset pages against a real PostgreSQL migrated by Flyway.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class NotificationRetryQueueTest {
+    private static final double LEASE_SECONDS = 300;
+    // Inserted with a negative lease so the rows are due at once
+    private static final double DUE_NOW = -1;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DatabaseClient databaseClient;
+    private static NotificationRepository repository;
+    private static NotificationBatchRepository batchRepository;
+
+    @BeforeAll
+    public static void setUp() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        String url = String.format("r2dbc:postgresql://%s:%s@%s:%d/%s", postgres.getUsername(), postgres.getPassword(),
+                postgres.getHost(), postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), postgres.getDatabaseName());
+        ConnectionFactory connectionFactory = ConnectionFactories.get(url);
+        databaseClient = DatabaseClient.create(connectionFactory);
+        repository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory)).getRepository(NotificationRepository.class);
+        batchRepository = new NotificationBatchRepository(databaseClient);
+    }
+
+    @BeforeEach
+    public void clear() {
+        databaseClient.sql("DELETE FROM notifications").then().block();
+    }
+
+    @Test
+    public void claimedRowsAreLeasedAndNotClaimedAgain() {
+        batchRepository.insertAll(notifications(3), DUE_NOW).block();
+        batchRepository.insertAll(notifications(1), LEASE_SECONDS).block(); // still leased to the inserting caller
+
+        List<Notification> claimed = repository.claimDue(10, LEASE_SECONDS).collectList().block();
+
+        assertEquals(3, claimed.size());
+        LocalDateTime now = databaseNow();
+        claimed.forEach(row -> assertTrue(row.getNextAttemptAt().isAfter(now.plusSeconds(200)), row.getNextAttemptAt().toString()));
+        assertEquals(0, repository.claimDue(10, LEASE_SECONDS).count().block());
+    }
+
+    @Test
+    public void concurrentClaimersNeverTakeTheSameRow() {
+        batchRepository.insertAll(notifications(200), DUE_NOW).block();
+
+        // A non-pooled connection factory gives each claim its own connection, so they really overlap
+        List<Long> claimed = Flux.range(0, 4)
+                .flatMap(claimer -> repository.claimDue(50, LEASE_SECONDS)
+                        .subscribeOn(Schedulers.parallel()), 4)
+                .map(Notification::getId)
+                .collectList()
+                .block();
+        claimed.addAll(repository.claimDue(200, LEASE_SECONDS).map(Notification::getId).collectList().block());
+
+        Set<Long> distinct = new HashSet<>(claimed);
+        assertEquals(claimed.size(), distinct.size(), "a row was claimed twice");
+        assertEquals(200, distinct.size());
+    }
+
+    @Test
+    public void recordFailureBacksOffAndMarksDeadAtMaxAttempts() {
+        Long id = batchRepository.insertAll(notifications(1), DUE_NOW).block().get(0).getId();
+
+        repository.recordFailure(id, "provider down", 60, 3).block();
+        Notification afterFirst = repository.findById(id).block();
+        assertEquals(1, afterFirst.getAttempts());
+        assertEquals("provider down", afterFirst.getLastError());
+        assertFalse(afterFirst.isDead());
+        assertTrue(afterFirst.getNextAttemptAt().isAfter(databaseNow().plusSeconds(30)));
+
+        repository.recordFailure(id, "provider down", 0, 3).block();
+        assertFalse(repository.findById(id).block().isDead());
+
+        // attempts + 1 >= maxAttempts
+        repository.recordFailure(id, "still down", 0, 3).block();
+        Notification dead = repository.findById(id).block();
+        assertEquals(3, dead.getAttempts());
+        assertTrue(dead.isDead());
+        assertEquals(0, repository.claimDue(10, LEASE_SECONDS).count().block());
+    }
+
+    @Test
+    public void dispatcherRetriesWithCappedBackoffUntilDead() {
+        EmailService emailService = mock(EmailService.class);
+        when(emailService.sendEmail(anyString(), anyString(), anyString())).thenReturn(Mono.just(false));
+        NotificationDispatcher dispatcher = new NotificationDispatcher(repository, emailService, new SimpleMeterRegistry(),
+                4, 3, Duration.ofSeconds(60), Duration.ofSeconds(90));
+        Long id = batchRepository.insertAll(notifications(1), DUE_NOW).block().get(0).getId();
+
+        assertEquals(0, dispatcher.dispatch(List.of(repository.findById(id).block())).block());
+        assertEquals(1, repository.findById(id).block().getAttempts());
+
+        // Second failure: 60s doubled is capped at 90s
+        LocalDateTime before = databaseNow();
+        dispatcher.dispatch(List.of(repository.findById(id).block())).block();
+        Notification second = repository.findById(id).block();
+        assertFalse(second.isDead());
+        assertTrue(second.getNextAttemptAt().isBefore(before.plusSeconds(100)), second.getNextAttemptAt().toString());
+        assertTrue(second.getNextAttemptAt().isAfter(before.plusSeconds(80)), second.getNextAttemptAt().toString());
+
+        dispatcher.dispatch(List.of(repository.findById(id).block())).block();
+        assertTrue(repository.findById(id).block().isDead());
+    }
+
+    @Test
+    public void insertAllSplitsLargeBatchesAndKeepsIdsInOrder() {
+        List<Notification> rows = batchRepository.insertAll(notifications(2500), LEASE_SECONDS).block();
+
+        assertEquals(2500, databaseClient.sql("SELECT COUNT(*) AS n FROM notifications")
+                .map(row -> row.get("n", Long.class)).one().block());
+        List<Long> ids = rows.stream().map(Notification::getId).toList();
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(2500, new HashSet<>(ids).size());
+    }
+
+    @Nested
+    public class Inbox {
+        private static final String EMAIL = "inbox@darum.com";
+        private static final LocalDateTime NOON = LocalDateTime.of(2026, 1, 5, 12, 0);
+
+        private final NotificationService service = new NotificationService(repository, batchRepository,
+                mock(NotificationDispatcher.class), mock(NotificationCoalescer.class));
+
+        @Test
+        public void pagesWalkNewestFirstAndBreakCreatedAtTiesById() {
+            // Five rows share a created_at, so pages of two split the tie between pages
+            List<Long> tied = insertInbox(EMAIL, 5, NOON);
+            List<Long> older = insertInbox(EMAIL, 2, NOON.minusHours(1));
+            insertInbox("someone.else@darum.com", 3, NOON);
+
+            List<Long> walked = new ArrayList<>();
+            List<Boolean> hasMore = new ArrayList<>();
+            String cursor = null;
+            do {
+                NotificationInboxResponse page = service.getInbox(EMAIL, cursor, 2).block();
+                page.getNotifications().forEach(row -> walked.add(row.getId()));
+                hasMore.add(page.isHasMore());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            List<Long> expected = new ArrayList<>(tied.reversed());
+            expected.addAll(older.reversed());
+            assertEquals(expected, walked);
+            assertEquals(List.of(true, true, true, false), hasMore);
+        }
+
+        @Test
+        public void pageEndingExactlyOnTheLastRowHasNoNextCursor() {
+            insertInbox(EMAIL, 4, NOON);
+
+            NotificationInboxResponse whole = service.getInbox(EMAIL, null, 4).block();
+            assertEquals(4, whole.getNotifications().size());
+            assertFalse(whole.isHasMore());
+            assertNull(whole.getNextCursor());
+
+            NotificationInboxResponse first = service.getInbox(EMAIL, null, 3).block();
+            assertTrue(first.isHasMore());
+            NotificationInboxResponse last = service.getInbox(EMAIL, first.getNextCursor(), 3).block();
+            assertEquals(1, last.getNotifications().size());
+            assertFalse(last.isHasMore());
+            assertNull(last.getNextCursor());
+        }
+
+        @Test
+        public void nextCursorEncodesTheLastRowOfThePage() {
+            insertInbox(EMAIL, 3, NOON);
+
+            NotificationInboxResponse page = service.getInbox(EMAIL, null, 2).block();
+            NotificationResponse last = page.getNotifications().get(1);
+
+            String decoded = new String(Base64.getUrlDecoder().decode(page.getNextCursor()), StandardCharsets.UTF_8);
+            assertEquals(last.getCreatedAt() + "|" + last.getId(), decoded);
+            assertFalse(page.getNextCursor().contains("="), "cursor should be unpadded");
+        }
+
+        @Test
+        public void malformedCursorsAreRejected() {
+            insertInbox(EMAIL, 1, NOON);
+
+            List<String> malformed = List.of(
+                    "%%% not base64",
+                    encode("no separator"),
+                    encode("2026-01-05T12:00|not-a-number"),
+                    encode("yesterday|42"),
+                    encode("2026-01-05T12:00|42|extra"));
+            for (String cursor : malformed) {
+                RuntimeException error = assertThrows(RuntimeException.class,
+                        () -> service.getInbox(EMAIL, cursor, 10).block(), cursor);
+                assertEquals("Validation failed: invalid cursor", error.getMessage());
+            }
+        }
+
+        @Test
+        public void unreadCountIgnoresSentRowsAndOtherRecipients() {
+            List<Long> ids = insertInbox(EMAIL, 4, NOON);
+            repository.markSent(ids.subList(0, 1)).block();
+            insertInbox("someone.else@darum.com", 2, NOON);
+
+            NotificationInboxResponse first = service.getInbox(EMAIL, null, 2).block();
+            assertEquals(3, first.getUnreadCount());
+            // The count covers the whole inbox, not just the page
+            assertEquals(3, service.getInbox(EMAIL, first.getNextCursor(), 2).block().getUnreadCount());
+        }
+
+        private List<Long> insertInbox(String email, int count, LocalDateTime createdAt) {
+            List<Notification> rows = notifications(count);
+            rows.forEach(row -> {
+                row.setRecipientEmail(email);
+                row.setCreatedAt(createdAt);
+            });
+            return batchRepository.insertAll(rows, LEASE_SECONDS).block().stream().map(Notification::getId).toList();
+        }
+
+        private static String encode(String raw) {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Lease and backoff are computed from LOCALTIMESTAMP, so compare against the database clock
+    private static LocalDateTime databaseNow() {
+        return databaseClient.sql("SELECT LOCALTIMESTAMP AS now")
+                .map(row -> row.get("now", LocalDateTime.class))
+                .one()
+                .block();
+    }
+
+    private static List<Notification> notifications(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Notification notification = new Notification();
+                    notification.setType("ROLE_CHANGED");
+                    notification.setRecipientEmail("employee" + i + "@darum.com");
+                    notification.setTitle("Role Update");
+                    notification.setMessage("You have been promoted");
+                    notification.setCreatedAt(LocalDateTime.now());
+                    return notification;
+                })
+                .toList();
+    }
+}
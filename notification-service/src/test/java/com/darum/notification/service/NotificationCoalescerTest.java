@@ -0,0 +1,125 @@
+package com.darum.notification.service;
+
+import com.darum.notification.model.Notification;
+import com.darum.notification.repositories.NotificationBatchRepository;
+import com.darum.notification.repositories.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// No database or provider: repositories, dispatcher and email service are mocks, ids come from a counter
+public class NotificationCoalescerTest {
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationBatchRepository notificationBatchRepository = mock(NotificationBatchRepository.class);
+    private final NotificationDispatcher notificationDispatcher = mock(NotificationDispatcher.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    public void setUp() {
+        when(notificationBatchRepository.insertAll(any(), anyDouble())).thenAnswer(invocation -> {
+            List<Notification> rows = invocation.getArgument(0);
+            rows.forEach(row -> row.setId(ids.incrementAndGet()));
+            return Mono.just(rows);
+        });
+        when(notificationRepository.markSent(any())).thenAnswer(invocation -> Mono.just(invocation.<List<Long>>getArgument(0).size()));
+        when(notificationDispatcher.dispatch(any())).thenAnswer(invocation -> Mono.just(invocation.<List<Notification>>getArgument(0).size()));
+    }
+
+    @Test
+    public void disabledByDefaultWindow() {
+        assertFalse(coalescer(Duration.ZERO, 20).isEnabled());
+    }
+
+    @Test
+    public void fullBufferIsFlushedAsOneDigestWithoutWaitingForTheWindow() {
+        when(emailService.sendEmail(anyString(), anyString(), anyString())).thenReturn(Mono.just(true));
+        NotificationCoalescer coalescer = coalescer(Duration.ofHours(1), 3);
+
+        coalescer.offer(List.of(notification("jane.doe@darum.com", "Role Update"),
+                notification("Jane.Doe@darum.com", "Account Status Updated"),
+                notification("john.roe@darum.com", "Role Update"))).block();
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+
+        coalescer.offer(List.of(notification("jane.doe@darum.com", "Department Updated"))).block();
+
+        verify(emailService).sendEmail(eq("jane.doe@darum.com"), eq("You have 3 account updates"), startsWith("Role Update: "));
+        verify(notificationRepository).markSent(List.of(1L, 2L, 4L));
+        // Stored up front, leased past the window so the retry scheduler leaves them alone meanwhile
+        verify(notificationBatchRepository, times(2)).insertAll(any(), eq(Duration.ofHours(1).plus(LEASE).toMillis() / 1000.0));
+        assertEquals(2.0, meterRegistry.counter("notification.coalesce.merged").count());
+    }
+
+    @Test
+    public void windowExpiryFlushesWhatWasBuffered() {
+        when(emailService.sendEmail(anyString(), anyString(), anyString())).thenReturn(Mono.just(true));
+        NotificationCoalescer coalescer = coalescer(Duration.ofMillis(100), 20);
+
+        coalescer.offer(List.of(notification("jane.doe@darum.com", "Role Update"),
+                notification("jane.doe@darum.com", "Account Status Updated"))).block();
+        coalescer.offer(List.of(notification("john.roe@darum.com", "Role Update"))).block();
+
+        verify(emailService, timeout(2000)).sendEmail(eq("jane.doe@darum.com"), eq("You have 2 account updates"), anyString());
+        verify(notificationRepository, timeout(2000)).markSent(List.of(1L, 2L));
+        // A lone notification is sent as itself, not as a digest
+        verify(notificationDispatcher, timeout(2000)).dispatch(argThat(rows -> rows.size() == 1 && rows.get(0).getId() == 3L));
+    }
+
+    @Test
+    public void failedDigestLeavesTheStoredRowsToTheRetryQueue() {
+        when(emailService.sendEmail(anyString(), anyString(), anyString()))
+                .thenReturn(Mono.just(false))
+                .thenReturn(Mono.error(new IllegalStateException("provider down")));
+        NotificationCoalescer coalescer = coalescer(Duration.ofHours(1), 2);
+
+        coalescer.offer(List.of(notification("jane.doe@darum.com", "Role Update"),
+                notification("jane.doe@darum.com", "Account Status Updated"))).block();
+        coalescer.offer(List.of(notification("john.roe@darum.com", "Role Update"),
+                notification("john.roe@darum.com", "Department Updated"))).block();
+
+        verify(emailService, timeout(2000).times(2)).sendEmail(anyString(), anyString(), anyString());
+        // Never marked sent: the leases lapse and NotificationRetryScheduler delivers them one by one
+        verify(notificationRepository, after(200).never()).markSent(any());
+        verify(notificationDispatcher, never()).dispatch(any());
+    }
+
+    private NotificationCoalescer coalescer(Duration window, int maxEvents) {
+        return new NotificationCoalescer(notificationRepository, notificationBatchRepository, notificationDispatcher,
+                emailService, meterRegistry, window, maxEvents, true, LEASE);
+    }
+
+    private static Notification notification(String recipient, String title) {
+        Notification notification = new Notification();
+        notification.setType("ROLE_CHANGED");
+        notification.setRecipientEmail(recipient);
+        notification.setTitle(title);
+        notification.setMessage("Details of " + title.toLowerCase());
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+}
@@ -0,0 +1,31 @@
+package com.darum.notification.service;
+
+import com.darum.notification.repositories.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class NotificationDispatcherTest {
+    private final NotificationDispatcher dispatcher = new NotificationDispatcher(
+            mock(NotificationRepository.class), mock(EmailService.class), new SimpleMeterRegistry(),
+            8, 5, Duration.ofMinutes(1), Duration.ofHours(1));
+
+    @Test
+    public void backoffDoublesFromTheInitialDelay() {
+        assertEquals(Duration.ofMinutes(1), dispatcher.backoffAfter(1));
+        assertEquals(Duration.ofMinutes(2), dispatcher.backoffAfter(2));
+        assertEquals(Duration.ofMinutes(4), dispatcher.backoffAfter(3));
+        assertEquals(Duration.ofMinutes(32), dispatcher.backoffAfter(6));
+    }
+
+    @Test
+    public void backoffIsCappedAtTheMaximum() {
+        assertEquals(Duration.ofHours(1), dispatcher.backoffAfter(7));
+        // The shift is capped too, so a runaway attempt count cannot overflow
+        assertEquals(Duration.ofHours(1), dispatcher.backoffAfter(1_000));
+    }
+}
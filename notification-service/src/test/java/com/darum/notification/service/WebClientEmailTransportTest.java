@@ -0,0 +1,80 @@
+package com.darum.notification.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link WebClientEmailTransport} against a local stub of the SendGrid {@code mail/send} endpoint.
+ */
+public class WebClientEmailTransportTest {
+    private HttpServer server;
+    private WebClientEmailTransport transport;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final AtomicInteger status = new AtomicInteger(202);
+
+    @BeforeEach
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v3/mail/send", exchange -> {
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] response = status.get() == 202 ? new byte[0] : "{\"errors\":[{\"message\":\"bad\"}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), response.length == 0 ? -1 : response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        transport = new WebClientEmailTransport(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v3",
+                "test-key", "notifications@darum.com", "Darum",
+                4, 100, Duration.ofSeconds(5), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    public void stopStub() {
+        transport.dispose();
+        server.stop(0);
+    }
+
+    @Test
+    public void postsSendGridPayloadAndReportsSuccess() {
+        Boolean sent = transport.send("jane.doe@darum.com", "Welcome", "Hello Jane").block();
+
+        assertTrue(sent);
+        assertEquals(1, bodies.size());
+        assertTrue(bodies.get(0).contains("\"email\":\"jane.doe@darum.com\""), bodies.get(0));
+        assertTrue(bodies.get(0).contains("\"subject\":\"Welcome\""), bodies.get(0));
+        assertTrue(bodies.get(0).contains("\"value\":\"Hello Jane\""), bodies.get(0));
+        assertEquals("Bearer test-key", authorizations.get(0));
+    }
+
+    @Test
+    public void reportsRejectedMessageAsNotSent() {
+        status.set(400);
+
+        assertFalse(transport.send("jane.doe@darum.com", "Welcome", "Hello Jane").block());
+    }
+
+    @Test
+    public void reportsUnreachableProviderAsNotSent() {
+        server.stop(0);
+
+        assertFalse(transport.send("jane.doe@darum.com", "Welcome", "Hello Jane").block());
+    }
+}
@@ -0,0 +1,62 @@
+package com.darum.shared.client;
+
+import com.darum.shared.dto.request.BatchUserLookupRequest;
+import com.darum.shared.dto.response.UserResponse;
+import com.darum.shared.security.SecurityConstants;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Reactive client for auth-service {@value #PATH}. Input is de-duplicated and split into requests of at
+ * most {@code chunkSize} keys (keep it at or below the server's {@code auth.batch-lookup.max-size}),
+ * with up to {@code concurrency} requests in flight. Each response array is decoded element by element;
+ * users arrive in no particular order and unknown emails or ids are simply absent. Requests carry the
+ * caller's bearer token, which auth-service requires on this endpoint.
+ *
+ * Needs spring-webflux on the caller's classpath.
+ */
+public class UserBatchLookupClient {
+    public static final String PATH = "/auth/users/batch-lookup";
+
+    private final WebClient authWebClient;
+    private final int chunkSize;
+    private final int concurrency;
+
+    public UserBatchLookupClient(WebClient authWebClient, int chunkSize, int concurrency) {
+        if (chunkSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("chunkSize and concurrency must be positive");
+        }
+        this.authWebClient = authWebClient;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+    }
+
+    public Flux<UserResponse> findByEmails(Collection<? extends String> emails, String token) {
+        return Flux.fromIterable(new LinkedHashSet<String>(emails))
+                .buffer(chunkSize)
+                .flatMap(chunk -> post(new BatchUserLookupRequest(chunk, List.of()), token), concurrency);
+    }
+
+    public Flux<UserResponse> findByIds(Collection<? extends Long> ids, String token) {
+        return Flux.fromIterable(new LinkedHashSet<Long>(ids))
+                .buffer(chunkSize)
+                .flatMap(chunk -> post(new BatchUserLookupRequest(List.of(), chunk), token), concurrency);
+    }
+
+    private Flux<UserResponse> post(BatchUserLookupRequest body, String token) {
+        return authWebClient.post()
+                .uri(PATH)
+                .header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToFlux(UserResponse.class);
+    }
+}
@@ -0,0 +1,18 @@
+package com.darum.shared.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Body of auth-service POST /auth/users/batch-lookup; either list may be empty
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserLookupRequest {
+    private List<String> emails;
+    private List<Long> ids;
+}
@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmployeeCreatedEvent {
+    public static final String TOPIC = "employee-created";
+
     private String employeeCode;
     private String email;
     private String firstName;
@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmployeeStatusUpdatedEvent {
+    public static final String TOPIC = "employee-status-updated";
+
     private String employeeCode;
     private String email;
     private String oldStatus;
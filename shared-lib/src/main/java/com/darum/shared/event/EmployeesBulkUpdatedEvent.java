@@ -0,0 +1,36 @@
+package com.darum.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One event per bulk-update chunk: every listed employee had the same field set to newValue
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeesBulkUpdatedEvent {
+    public static final String TOPIC = "employees-bulk-updated";
+    public static final String FIELD_STATUS = "STATUS";
+    public static final String FIELD_DEPARTMENT = "DEPARTMENT";
+
+    private String field; // FIELD_STATUS or FIELD_DEPARTMENT
+    private String newValue;
+    private String updatedBy;
+    private LocalDateTime updatedAt;
+    private List<Change> changes;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private String employeeCode;
+        private String email;
+        private String oldValue;
+    }
+}
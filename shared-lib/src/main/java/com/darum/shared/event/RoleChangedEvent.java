@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class RoleChangedEvent {
+    public static final String TOPIC = "role-changed";
+
     private String email;
     private String action; // "PROMOTED" or "DEMOTED"
     private String role;
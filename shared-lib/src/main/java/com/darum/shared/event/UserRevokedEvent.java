@@ -0,0 +1,27 @@
+package com.darum.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Published by auth-service when a user's roles change, so caches holding that user's
+ * verified token (e.g. the api-gateway token cache) drop it immediately.
+ * Tokens issued before {@code revokedAt} must no longer be trusted.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRevokedEvent {
+    public static final String TOPIC = "user-revoked";
+
+    private Long userId;
+    private String email;
+    private String reason;
+    // Instant rather than LocalDateTime: it is compared against token iat on other hosts
+    private Instant revokedAt;
+}
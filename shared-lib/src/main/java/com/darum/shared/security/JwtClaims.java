@@ -0,0 +1,31 @@
+package com.darum.shared.security;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the claims in a verified token, produced by {@link JwtUtil#parse(String, String)}.
+ * Safe to cache and share across threads.
+ */
+@Getter
+public final class JwtClaims {
+    private final String subject;
+    private final Long userId;
+    private final List<String> roles;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public JwtClaims(String subject, Long userId, List<String> roles, Instant issuedAt, Instant expiresAt) {
+        this.subject = subject;
+        this.userId = userId;
+        this.roles = roles != null ? List.copyOf(roles) : List.of();
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
@@ -1,44 +1,79 @@
 package com.darum.shared.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JwtUtil {
 
+    // JwtParser is immutable and thread-safe; building one derives the key, so keep one per secret
+    private static final Map<String, JwtParser> PARSERS = new ConcurrentHashMap<>();
+
+    /**
+     * Verifies the signature and expiry of the token once and returns all claims we use.
+     * Prefer this over calling the extract* methods one after another, each of which verifies again.
+     *
+     * @throws JwtException if the token is malformed, expired or has an invalid signature
+     */
+    public static JwtClaims parse(String token, String secret) {
+        Claims claims = parser(secret)
+                .parseSignedClaims(token)
+                .getPayload();
+
+        Number userId = claims.get("userId", Number.class);
+        return new JwtClaims(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                claims.get("roles", List.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    /**
+     * SHA-256 hex digest of a raw token, used as a cache key so tokens are never held in memory as map keys.
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public static String extractUsername(String token, String secret) {
         // We assume subject = username in our application
-        return extractAllClaims(token, secret).getSubject();
+        return parse(token, secret).getSubject();
     }
 
     public static List<String> extractRoles(String token, String secret) {
-        Claims claims = extractAllClaims(token, secret);
-        return claims.get("roles", List.class);
+        return parse(token, secret).getRoles();
     }
 
     public static boolean validateToken(String token, String secret) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey(secret))
-                    .build()
-                    .parseSignedClaims(token);
+            parse(token, secret);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
 
-    private static Claims extractAllClaims(String token, String secret) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey(secret))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static JwtParser parser(String secret) {
+        return PARSERS.computeIfAbsent(secret, key -> Jwts.parser()
+                .verifyWith(getSigningKey(key))
+                .build());
     }
 
     private static SecretKey getSigningKey(String secret) {
@@ -47,6 +82,6 @@ public class JwtUtil {
     }
 
     public static String extractUserId(String token, String jwtSecret) {
-        return extractAllClaims(token, jwtSecret).getSubject();
+        return parse(token, jwtSecret).getSubject();
     }
 }
@@ -0,0 +1,116 @@
+package com.darum.shared.security;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class IdentityEnvelopeTest {
+    private static final String SECRET = "envelope-test-secret-with-enough-entropy";
+
+    private final Instant expiresAt = Instant.now().plus(5, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS);
+
+    @Test
+    public void sealThenOpenRoundTrips() {
+        String sealed = new IdentityEnvelope(42L, "jane.doe@darum.com", List.of("ADMIN", "EMPLOYEE"), expiresAt).seal(SECRET);
+
+        IdentityEnvelope opened = IdentityEnvelope.open(sealed, SECRET);
+
+        assertNotNull(opened);
+        assertEquals(42L, opened.getUserId());
+        assertEquals("jane.doe@darum.com", opened.getEmail());
+        assertEquals(List.of("ADMIN", "EMPLOYEE"), opened.getRoles());
+        assertEquals(expiresAt, opened.getExpiresAt());
+    }
+
+    @Test
+    public void missingUserIdAndRolesRoundTrip() {
+        String sealed = new IdentityEnvelope(null, "jane.doe@darum.com", null, expiresAt).seal(SECRET);
+
+        IdentityEnvelope opened = IdentityEnvelope.open(sealed, SECRET);
+
+        assertNotNull(opened);
+        assertNull(opened.getUserId());
+        assertEquals(List.of(), opened.getRoles());
+    }
+
+    @Test
+    public void tamperedPayloadIsRejected() {
+        String sealed = new IdentityEnvelope(42L, "jane.doe@darum.com", List.of("EMPLOYEE"), expiresAt).seal(SECRET);
+        String signature = sealed.substring(sealed.indexOf('.') + 1);
+        String escalated = encode("v1\n42\njane.doe@darum.com\nSUPERADMIN\n" + expiresAt.getEpochSecond());
+
+        assertNull(IdentityEnvelope.open(escalated + "." + signature, SECRET));
+    }
+
+    @Test
+    public void wrongSecretIsRejected() {
+        String sealed = new IdentityEnvelope(42L, "jane.doe@darum.com", List.of("EMPLOYEE"), expiresAt).seal(SECRET);
+
+        assertNull(IdentityEnvelope.open(sealed, "some-other-secret"));
+    }
+
+    @Test
+    public void expiredEnvelopeIsRejected() {
+        Instant past = Instant.now().minus(1, ChronoUnit.MINUTES);
+        String sealed = new IdentityEnvelope(42L, "jane.doe@darum.com", List.of("EMPLOYEE"), past).seal(SECRET);
+
+        assertNull(IdentityEnvelope.open(sealed, SECRET));
+    }
+
+    @Test
+    public void malformedInputIsRejected() {
+        String sealed = new IdentityEnvelope(42L, "jane.doe@darum.com", List.of("EMPLOYEE"), expiresAt).seal(SECRET);
+
+        assertNull(IdentityEnvelope.open(null, SECRET));
+        assertNull(IdentityEnvelope.open("  ", SECRET));
+        assertNull(IdentityEnvelope.open("no-separator", SECRET));
+        assertNull(IdentityEnvelope.open("." + sealed, SECRET));
+        assertNull(IdentityEnvelope.open("!!!." + sealed.substring(sealed.indexOf('.') + 1), SECRET));
+        assertNull(IdentityEnvelope.open(sealed.substring(0, sealed.indexOf('.') + 1) + "%%%", SECRET));
+    }
+
+    @Test
+    public void correctlySignedButMalformedPayloadIsRejected() throws Exception {
+        assertNull(IdentityEnvelope.open(signedWithDerivedKey("v2\n42\njane.doe@darum.com\nEMPLOYEE\n" + expiresAt.getEpochSecond()), SECRET));
+        assertNull(IdentityEnvelope.open(signedWithDerivedKey("v1\n42\njane.doe@darum.com\n" + expiresAt.getEpochSecond()), SECRET));
+        assertNull(IdentityEnvelope.open(signedWithDerivedKey("v1\nabc\njane.doe@darum.com\nEMPLOYEE\n" + expiresAt.getEpochSecond()), SECRET));
+        assertNull(IdentityEnvelope.open(signedWithDerivedKey("v1\n42\njane.doe@darum.com\nEMPLOYEE\nsoon"), SECRET));
+    }
+
+    @Test
+    public void secretIsNotUsedAsTheMacKeyDirectly() throws Exception {
+        // An HMAC made with the raw secret, e.g. by a component sharing jwt.secret, must not pass
+        String payload = "v1\n42\njane.doe@darum.com\nSUPERADMIN\n" + expiresAt.getEpochSecond();
+        String forged = encode(payload) + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(hmac(SECRET.getBytes(StandardCharsets.UTF_8), payload.getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(IdentityEnvelope.open(forged, SECRET));
+        assertNotNull(IdentityEnvelope.open(signedWithDerivedKey(payload), SECRET));
+    }
+
+    private static String signedWithDerivedKey(String payload) throws Exception {
+        byte[] key = hmac(SECRET.getBytes(StandardCharsets.UTF_8), "identity-envelope-v1".getBytes(StandardCharsets.UTF_8));
+        return encode(payload) + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(hmac(key, payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] hmac(byte[] key, byte[] data) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data);
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package com.darum.shared.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost in the gateway filter.
+ * {@code legacyFourParses} replays the old validate + extractUserId/Username/Roles sequence, each building
+ * a fresh key and parser; {@code parseOnce} is the current {@link JwtUtil#parse(String, String)} path.
+ *
+ * Run {@link #main(String[])} from the IDE, or {@code org.openjdk.jmh.Main JwtUtilBenchmark} on the shared-lib test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .subject("jane.doe@darum.com")
+                .claim("roles", List.of("EMPLOYEE", "MANAGER"))
+                .claim("userId", 42L)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public void legacyFourParses(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token));                                  // validateToken
+        blackhole.consume(legacyParse(token).getSubject());                     // extractUserId
+        blackhole.consume(legacyParse(token).getSubject());                     // extractUsername
+        blackhole.consume(legacyParse(token).get("roles", List.class));         // extractRoles
+    }
+
+    @Benchmark
+    public JwtClaims parseOnce() {
+        return JwtUtil.parse(token, SECRET);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}